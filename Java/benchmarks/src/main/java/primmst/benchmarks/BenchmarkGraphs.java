@@ -0,0 +1,103 @@
+package primmst.benchmarks;
+
+/**
+ * Graphs the benchmarks run on. A graph is named either after a file of the
+ * in/ folder, like inputBig, or after a synthetic family: gnm-n-d is a random
+ * connected graph of n vertices and average degree d and complete-n the
+ * complete graph of n vertices, with weights between -1000000 and 1000000,
+ * made by GraphGenerator. Synthetic graphs are seeded,
+ * so every run measures the same graph. The in/ folder is ../../in, relative
+ * to Java/benchmarks, unless the primmst.inputs system property says otherwise.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+
+import primmst.BinaryGraphFormat;
+import primmst.Graph;
+import primmst.GraphGenerator;
+import primmst.GraphLoader;
+
+public class BenchmarkGraphs {
+
+    public static final long SEED = 20130907;
+    public static final int MAX_WEIGHT = 1000000;
+
+    /**
+     * Returns the in/ file a graph is named after.
+     *
+     * @param name The graph 's name.
+     * @return The file, or null for a synthetic graph.
+     */
+    public static File inputFile(String name) {
+        if (name.startsWith("gnm-") || name.startsWith("complete-")) {
+            return null;
+        }
+        return new File(System.getProperty("primmst.inputs", "../../in"), name + ".txt");
+    }
+
+    /**
+     * Builds or reads a graph by name.
+     *
+     * @param name The graph 's name.
+     * @return The graph.
+     * @throws Exception If the name is unknown or the file cannot be read.
+     */
+    public static Graph graph(String name) throws Exception {
+        return GraphLoader.load(file(name, "binary").getPath());
+    }
+
+    /**
+     * Returns the generator of a synthetic graph: a random connected graph
+     * of up to n * degree / 2 edges, or a complete graph.
+     *
+     * @param name The graph 's name.
+     * @return The generator.
+     * @throws Exception If the name is unknown.
+     */
+    public static GraphGenerator generator(String name) throws Exception {
+        String[] parts = name.split("-");
+        if (parts.length == 2 && parts[0].equals("complete")) {
+            return new GraphGenerator("complete", Integer.parseInt(parts[1]), 0, -MAX_WEIGHT, MAX_WEIGHT, SEED, false);
+        }
+        if (parts.length != 3 || !parts[0].equals("gnm")) {
+            throw new Exception("Unknown graph " + name + ".");
+        }
+        int n = Integer.parseInt(parts[1]);
+        long m = Math.max(n - 1, (long) n * Integer.parseInt(parts[2]) / 2);
+        return new GraphGenerator("gnm", n, m, -MAX_WEIGHT, MAX_WEIGHT, SEED, true);
+    }
+
+    /**
+     * Writes a graph to a temporary file, in text or binary format, or
+     * returns the in/ file the graph is named after.
+     *
+     * @param name The graph 's name.
+     * @param format Either text or binary.
+     * @return The file.
+     * @throws Exception If the file cannot be written.
+     */
+    public static File file(String name, String format) throws Exception {
+        File file = inputFile(name);
+        if (format.equals("text") && null != file) {
+            return file;
+        }
+        File written = File.createTempFile("primmst-" + name, "." + format);
+        written.deleteOnExit();
+        if (format.equals("binary") && null != file) {
+            BinaryGraphFormat.write(GraphLoader.load(file.getPath()), written.getPath());
+        } else if (format.equals("binary")) {
+            generator(name).writeBinary(written.getPath());
+        } else if (format.equals("text")) {
+            generator(name).writeText(written.getPath());
+        } else {
+            throw new Exception("Unknown format " + format + ".");
+        }
+        return written;
+    }
+}
@@ -0,0 +1,73 @@
+package primmst.benchmarks;
+
+/**
+ * Measures Prim 's algorithm on dense graphs, on a binary heap over the
+ * adjacency lists against DensePrimMST over an adjacency matrix. The matrix
+ * is filled once, in the setup, so only the algorithms are measured.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import primmst.DenseGraph;
+import primmst.Graph;
+import primmst.MstResult;
+import primmst.MstSolver;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class DenseBenchmark {
+
+    @Param({"prim/binary", "dense-prim"})
+    public String engine;
+
+    @Param({"complete-2000", "complete-4000", "gnm-5000-2000"})
+    public String graph;
+
+    private Graph loaded;
+    private DenseGraph matrix;
+    private MstSolver solver;
+    private MstResult result;
+
+    @Setup
+    public void setup() throws Exception {
+        String[] parts = this.engine.split("/");
+        this.loaded = BenchmarkGraphs.graph(this.graph);
+        this.solver = new MstSolver(parts[0], parts.length > 1 ? parts[1] : "binary", null);
+        this.solver.reserve(this.loaded.n);
+        this.result = new MstResult(this.loaded.n);
+        if (this.engine.equals("dense-prim")) {
+            this.matrix = DenseGraph.fromGraph(this.loaded);
+            this.loaded = null;
+        }
+    }
+
+    @Benchmark
+    public long solve() throws Exception {
+        if (null != this.matrix) {
+            return this.solver.solve(this.matrix, this.result).totalCost().longValue();
+        }
+        return this.solver.solve(this.loaded, this.result).totalCost().longValue();
+    }
+}
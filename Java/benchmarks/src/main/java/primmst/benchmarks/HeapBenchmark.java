@@ -0,0 +1,180 @@
+package primmst.benchmarks;
+
+/**
+ * Measures the heaps under the operations Prim 's algorithm makes: inserting
+ * all vertices, decreasing random keys and extracting all vertices. The
+ * legacy heap is the MinHeap of HeapNode objects, which decreases a key by
+ * deleting and inserting a new node again. The packed heap is lazy Prim 's
+ * PackedMinHeap, which decreases a key by inserting a new entry and skips
+ * the stale ones when extracting.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import primmst.HeapNode;
+import primmst.IndexedPriorityQueue;
+import primmst.MinHeap;
+import primmst.MstSolver;
+import primmst.PackedMinHeap;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeapBenchmark {
+
+    @Param({"legacy", "packed", "binary", "4-ary", "8-ary", "pairing", "fibonacci"})
+    public String heap;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private IndexedPriorityQueue queue;
+    private MinHeap legacy;
+    private PackedMinHeap packed;
+    private int[] packedKeys; // key is the vertex, value is its current key in the packed heap
+    private boolean[] extracted; // key is the vertex, value tells if the packed heap gave it out
+    private int[] keys; // random keys, one per vertex
+    private int[] decreases; // vertices whose key is decreased, in order
+    private int[] decreasedKeys; // the new keys, in order
+
+    @Setup
+    public void setup() throws Exception {
+        Random randomGenerator = new Random(BenchmarkGraphs.SEED);
+        this.keys = new int[this.size];
+        this.decreases = new int[4 * this.size];
+        this.decreasedKeys = new int[4 * this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.keys[i] = randomGenerator.nextInt(Integer.MAX_VALUE);
+        }
+        for (int i = 0; i < this.decreases.length; i++) {
+            this.decreases[i] = randomGenerator.nextInt(this.size);
+            this.decreasedKeys[i] = randomGenerator.nextInt(Integer.MAX_VALUE);
+        }
+        if (this.heap.equals("legacy")) {
+            this.legacy = new MinHeap(this.size);
+        } else if (this.heap.equals("packed")) {
+            this.packed = new PackedMinHeap(this.size);
+            this.packedKeys = new int[this.size];
+            this.extracted = new boolean[this.size];
+        } else {
+            this.queue = MstSolver.createHeap(this.heap, this.size);
+        }
+    }
+
+    /**
+     * Inserts all vertices with random keys, then extracts them all.
+     */
+    @Benchmark
+    public long insertExtractMin() throws Exception {
+        long sum = 0;
+        if (null != this.legacy) {
+            for (int i = 0; i < this.size; i++) {
+                this.legacy.insert(new HeapNode(i, -1, this.keys[i]));
+            }
+            for (int i = 0; i < this.size; i++) {
+                sum += this.legacy.extractMin().weight;
+            }
+            return sum;
+        }
+        if (null != this.packed) {
+            for (int i = 0; i < this.size; i++) {
+                this.packed.insert(PackedMinHeap.pack(this.keys[i], i));
+            }
+            for (int i = 0; i < this.size; i++) {
+                sum += PackedMinHeap.vertex(this.packed.extractMin());
+            }
+            return sum;
+        }
+        for (int i = 0; i < this.size; i++) {
+            this.queue.insert(i, this.keys[i]);
+        }
+        for (int i = 0; i < this.size; i++) {
+            sum += this.queue.extractMin();
+        }
+        return sum;
+    }
+
+    /**
+     * Inserts all vertices with random keys, makes four key decreases per
+     * vertex, then extracts them all.
+     */
+    @Benchmark
+    public long decreaseKey() throws Exception {
+        long sum = 0;
+        int v, pos;
+        if (null != this.legacy) {
+            for (int i = 0; i < this.size; i++) {
+                this.legacy.insert(new HeapNode(i, -1, this.keys[i]));
+            }
+            for (int i = 0; i < this.decreases.length; i++) {
+                v = this.decreases[i];
+                pos = this.legacy.positions[v];
+                if (this.decreasedKeys[i] < this.legacy.heapNodes[pos].weight) {
+                    this.legacy.delete(pos);
+                    this.legacy.insert(new HeapNode(v, -1, this.decreasedKeys[i]));
+                }
+            }
+            for (int i = 0; i < this.size; i++) {
+                sum += this.legacy.extractMin().weight;
+            }
+            return sum;
+        }
+        if (null != this.packed) {
+            for (int i = 0; i < this.size; i++) {
+                this.packedKeys[i] = this.keys[i];
+                this.extracted[i] = false;
+                this.packed.insert(PackedMinHeap.pack(this.keys[i], i));
+            }
+            for (int i = 0; i < this.decreases.length; i++) {
+                v = this.decreases[i];
+                if (this.decreasedKeys[i] < this.packedKeys[v]) {
+                    this.packedKeys[v] = this.decreasedKeys[i];
+                    this.packed.insert(PackedMinHeap.pack(this.decreasedKeys[i], v));
+                }
+            }
+            while (this.packed.size() > 0) {
+                v = PackedMinHeap.vertex(this.packed.extractMin());
+                if (!this.extracted[v]) { // the others are stale
+                    this.extracted[v] = true;
+                    sum += v;
+                }
+            }
+            return sum;
+        }
+        for (int i = 0; i < this.size; i++) {
+            this.queue.insert(i, this.keys[i]);
+        }
+        for (int i = 0; i < this.decreases.length; i++) {
+            v = this.decreases[i];
+            if (this.decreasedKeys[i] < this.queue.key(v)) {
+                this.queue.decreaseKey(v, this.decreasedKeys[i]);
+            }
+        }
+        for (int i = 0; i < this.size; i++) {
+            sum += this.queue.extractMin();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,56 @@
+package primmst.benchmarks;
+
+/**
+ * Measures how long loading a graph file takes, in text and binary format.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import primmst.Graph;
+import primmst.GraphLoader;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Param({"inputBig", "gnm-100000-8", "gnm-1000000-8", "gnm-100000-64"})
+    public String graph;
+
+    @Param({"text", "binary"})
+    public String format;
+
+    private File file;
+
+    @Setup
+    public void setup() throws Exception {
+        this.file = BenchmarkGraphs.file(this.graph, this.format);
+    }
+
+    @Benchmark
+    public Graph load() throws Exception {
+        return GraphLoader.load(this.file.getPath());
+    }
+}
@@ -0,0 +1,66 @@
+package primmst.benchmarks;
+
+/**
+ * Measures the MST engines end to end on a loaded graph, each engine
+ * reusing its solver and result between calls the way a service would.
+ * An engine is an algorithm, with the heap after a slash for Prim 's
+ * algorithm.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import primmst.Graph;
+import primmst.MstResult;
+import primmst.MstSolver;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MstBenchmark {
+
+    @Param({"prim/binary", "prim/4-ary", "prim/pairing", "prim/fibonacci", "lazy-prim", "kruskal", "boruvka", "filter-kruskal"})
+    public String engine;
+
+    @Param({"inputBig", "gnm-100000-4", "gnm-100000-32", "gnm-1000000-8", "gnm-5000-2000"})
+    public String graph;
+
+    private Graph loaded;
+    private MstSolver solver;
+    private MstResult result;
+
+    @Setup
+    public void setup() throws Exception {
+        String[] parts = this.engine.split("/");
+        this.loaded = BenchmarkGraphs.graph(this.graph);
+        this.solver = new MstSolver(parts[0], parts.length > 1 ? parts[1] : "binary", ForkJoinPool.commonPool());
+        this.solver.reserve(this.loaded.n);
+        this.result = new MstResult(this.loaded.n);
+    }
+
+    @Benchmark
+    public long solve() throws Exception {
+        return this.solver.solve(this.loaded, this.result).totalCost().longValue();
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Command line tools: PrimMST, GraphConverter and GenerateGraph.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+module primmst.cli {
+    requires primmst.core;
+    exports primmst.cli;
+}
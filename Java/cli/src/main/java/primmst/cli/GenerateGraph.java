@@ -0,0 +1,84 @@
+package primmst.cli;
+
+/**
+ * Command line of GraphGenerator. Writes a seeded synthetic graph to file:
+ * GenerateGraph [-family gnm|grid|rmat|complete] [-n vertices] [-m edges]
+ * [-weights min:max] [-seed seed] [-connected] [-format text|binary] file
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import primmst.GraphGenerator;
+
+public class GenerateGraph {
+
+    /**
+     * Main function. Generates a graph file.
+     *
+     * @param String[] argv Command line arguments: options, then the output file.
+     * @return void
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("------ Begin graph generation ------");
+        long start = System.currentTimeMillis();
+        String family = "gnm", format = "text", file = null;
+        int n = 1000, minWeight = -1000000, maxWeight = 1000000;
+        long m = -1, seed = 1;
+        boolean connected = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("-connected")) {
+                    connected = true;
+                } else if (args[i].startsWith("-")) {
+                    if (i + 1 == args.length) {
+                        throw new Exception("The " + args[i] + " option needs a value.");
+                    }
+                    if (args[i].equals("-family")) {
+                        family = args[++i];
+                    } else if (args[i].equals("-format")) {
+                        format = args[++i];
+                    } else if (args[i].equals("-n")) {
+                        n = Integer.parseInt(args[++i]);
+                    } else if (args[i].equals("-m")) {
+                        m = Long.parseLong(args[++i]);
+                    } else if (args[i].equals("-seed")) {
+                        seed = Long.parseLong(args[++i]);
+                    } else if (args[i].equals("-weights")) {
+                        String[] range = args[++i].split(":");
+                        if (range.length != 2) {
+                            throw new Exception("The -weights option needs a min:max value.");
+                        }
+                        minWeight = Integer.parseInt(range[0]);
+                        maxWeight = Integer.parseInt(range[1]);
+                    } else {
+                        throw new Exception("Unknown option " + args[i] + ".");
+                    }
+                } else {
+                    file = args[i];
+                }
+            }
+            if (null == file) {
+                throw new Exception("The output file must be given as an argument.");
+            }
+            GraphGenerator generator = new GraphGenerator(family, n, m < 0 ? 4L * n : m, minWeight, maxWeight, seed, connected);
+            if (format.equals("text")) {
+                generator.writeText(file);
+            } else if (format.equals("binary")) {
+                generator.writeBinary(file);
+            } else {
+                throw new Exception("Unknown format " + format + ".");
+            }
+            System.out.println("Wrote " + generator.n + " vertices and " + generator.m + " edge(s) to " + file + ".");
+        } catch (Exception ex) {
+            System.out.println("ERR. " + ex.getMessage());
+            System.out.println("------- End graph generation -------");
+            System.exit(-1);
+        }
+        System.out.println("Elapsed: " + (double) (System.currentTimeMillis() - start) / 1000 + " seconds.");
+        System.out.println("------- End graph generation -------\n");
+    }
+}
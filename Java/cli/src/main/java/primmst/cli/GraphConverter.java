@@ -0,0 +1,42 @@
+package primmst.cli;
+
+/**
+ * Converts a graph from the edge list text format to the binary format.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import primmst.BinaryGraphFormat;
+import primmst.Graph;
+import primmst.GraphLoader;
+
+public class GraphConverter {
+    /**
+     * Main function. Reads the text graph and writes it in binary format.
+     *
+     * @param String[] argv Command line arguments: the text input file and the binary output file.
+     * @return void
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("------ Begin graph conversion ------");
+        long start = System.currentTimeMillis();
+        try {
+            if (args.length != 2) {
+                throw new Exception("The input and output files must be given as arguments.");
+            }
+            Graph graph = GraphLoader.load(args[0]);
+            BinaryGraphFormat.write(graph, args[1]);
+            System.out.println("Wrote " + graph.n + " vertices and " + graph.m + " edge(s) to " + args[1] + ".");
+        } catch (Exception ex) {
+            System.out.println("ERR. " + ex.getMessage());
+            System.out.println("------- End graph conversion -------");
+            System.exit(-1);
+        }
+        System.out.println("Elapsed: " + (double) (System.currentTimeMillis() - start) / 1000 + " seconds.");
+        System.out.println("------- End graph conversion -------\n");
+    }
+}
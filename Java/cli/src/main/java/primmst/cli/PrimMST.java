@@ -0,0 +1,326 @@
+package primmst.cli;
+
+/**
+ * Implementation of Dijkstra 's Shortest Path Algorithm in O(n + log m), n =
+ * number of vertices, m = number of edges.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import primmst.AdjacencyGraph;
+import primmst.BatchSolver;
+import primmst.DenseGraph;
+import primmst.DoubleAdjacencyGraph;
+import primmst.DoubleGraph;
+import primmst.DoubleMstResult;
+import primmst.ExternalKruskalMST;
+import primmst.GraphLoader;
+import primmst.LongAdjacencyGraph;
+import primmst.LongGraph;
+import primmst.LongMstResult;
+import primmst.LongOffHeapGraph;
+import primmst.MstResult;
+import primmst.MstSolver;
+import primmst.MstWriter;
+import primmst.OffHeapGraph;
+import primmst.Stats;
+import primmst.StreamingMST;
+
+public class PrimMST {
+
+    public static final int MAX_PRINTED_COMPONENTS = 100;
+
+    /**
+     * Main function. Reads graph, calculates shortest path from a starting
+     * vertex to all other vertices and prints the result.
+     *
+     * @param String[] argv Command line arguments.
+     * @return void
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("------ Begin Prim 's MST ------");
+        long start, end;
+        AdjacencyGraph graph = null;
+        DenseGraph denseGraph = null;
+        LongAdjacencyGraph longGraph = null;
+        DoubleAdjacencyGraph doubleGraph = null;
+        MstResult result = null;
+        MstSolver solver = null;
+        StreamingMST streaming = null;
+        ExternalKruskalMST external = null;
+        File tempDir = null;
+        String file = null, outFile = null, heapName = "binary", algorithm = "prim", batch = null, storage = null, stats = null;
+        ForkJoinPool pool = null;
+        int threads = 0;
+        long memory = Runtime.getRuntime().maxMemory() / 2;
+        boolean forest = false, offHeap = false, longWeights = false, doubleWeights = false;
+        double readTime = 0.00, algoTime = 0.00;
+
+        /* read directed graph, initialize variables */
+        start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("-heap") || args[i].equals("-algo") || args[i].equals("-threads") || args[i].equals("-out")
+                        || args[i].equals("-batch") || args[i].equals("-memory") || args[i].equals("-storage")
+                        || args[i].equals("-stream") || args[i].equals("-external") || args[i].equals("-tmpdir")
+                        || args[i].equals("-stats")) {
+                    if (i + 1 == args.length) {
+                        throw new Exception("The " + args[i] + " option needs a value.");
+                    }
+                    if (args[i].equals("-heap")) {
+                        heapName = args[++i];
+                    } else if (args[i].equals("-algo")) {
+                        algorithm = args[++i];
+                    } else if (args[i].equals("-out")) {
+                        outFile = args[++i];
+                    } else if (args[i].equals("-storage")) {
+                        storage = args[++i];
+                        offHeap = true;
+                    } else if (args[i].equals("-batch")) {
+                        batch = args[++i];
+                    } else if (args[i].equals("-stream")) {
+                        streaming = new StreamingMST(Integer.parseInt(args[++i]));
+                    } else if (args[i].equals("-external")) {
+                        external = new ExternalKruskalMST(Integer.parseInt(args[++i]), null);
+                    } else if (args[i].equals("-tmpdir")) {
+                        tempDir = new File(args[++i]);
+                    } else if (args[i].equals("-stats")) {
+                        stats = args[++i];
+                        if (!stats.equals("json") && !stats.equals("csv")) {
+                            throw new Exception("The -stats option needs json or csv.");
+                        }
+                        System.setProperty("primmst.stats", "true"); // read once, when Stats is first used
+                    } else if (args[i].equals("-memory")) {
+                        memory = Long.parseLong(args[++i]) << 20;
+                        if (memory < 1) {
+                            throw new Exception("The -memory option needs a positive value.");
+                        }
+                    } else {
+                        threads = Integer.parseInt(args[++i]);
+                        if (threads < 1) {
+                            throw new Exception("The -threads option needs a positive value.");
+                        }
+                    }
+                } else if (args[i].equals("-forest")) {
+                    forest = true;
+                } else if (args[i].equals("-offheap")) {
+                    offHeap = true;
+                } else if (args[i].equals("-long")) {
+                    longWeights = true;
+                } else if (args[i].equals("-double")) {
+                    doubleWeights = true;
+                } else if (args[i].startsWith("-")) {
+                    throw new Exception("Unknown option " + args[i] + ".");
+                } else {
+                    file = args[i];
+                }
+            }
+            if (null == file && null == batch) {
+                throw new Exception("The input file must be given as an argument.");
+            }
+            pool = threads == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(threads);
+            if (null != batch && longWeights) {
+                throw new Exception("The -long option does not work with -batch.");
+            }
+            if (doubleWeights && (longWeights || offHeap || null != batch)) {
+                throw new Exception("The -double option does not work with -long, -offheap, -storage or -batch.");
+            }
+            if ((null != streaming || null != external) && (longWeights || doubleWeights || offHeap || null != batch)) {
+                throw new Exception("The -stream and -external options do not work with -long, -double, -offheap, -storage or -batch.");
+            }
+            if (null != streaming && null != external) {
+                throw new Exception("The -stream option does not work with -external.");
+            }
+            if (offHeap && !longWeights && (algorithm.equals("boruvka") || algorithm.equals("filter-kruskal"))) {
+                throw new Exception("The " + algorithm + " algorithm does not work with -offheap or -storage.");
+            }
+            if (null != external) {
+                external.tempDir = tempDir;
+            }
+            if (null != batch) {
+                System.exit(runBatch(batch, outFile, algorithm, heapName, pool, memory, forest));
+            }
+            solver = new MstSolver(algorithm, heapName, pool);
+            solver.tempDir = tempDir;
+            if (null != streaming || null != external) {
+                result = new MstResult(0); // the graph is read while solving
+            } else if (doubleWeights) {
+                doubleGraph = DoubleGraph.load(file);
+                result = new DoubleMstResult(doubleGraph.vertexCount());
+                solver.reserveDouble(doubleGraph.vertexCount());
+            } else if (longWeights) {
+                if (!offHeap) {
+                    longGraph = LongGraph.load(file);
+                } else if (LongOffHeapGraph.isLongOffHeapGraph(file)) {
+                    longGraph = new LongOffHeapGraph(file);
+                } else {
+                    longGraph = LongOffHeapGraph.load(file, storage);
+                }
+                result = new LongMstResult(longGraph.vertexCount());
+                solver.reserveLong(longGraph.vertexCount());
+            } else if (!offHeap && solver.isDense(file)) {
+                denseGraph = DenseGraph.load(file);
+                result = new MstResult(denseGraph.n);
+            } else {
+                if (!offHeap) {
+                    graph = GraphLoader.load(file, pool);
+                } else if (OffHeapGraph.isOffHeapGraph(file)) {
+                    graph = new OffHeapGraph(file);
+                } else if (LongOffHeapGraph.isLongOffHeapGraph(file)) {
+                    throw new Exception("The storage file holds 64 bit weights, use -long.");
+                } else {
+                    graph = OffHeapGraph.load(file, storage);
+                }
+                result = new MstResult(graph.vertexCount());
+                solver.reserve(graph.vertexCount());
+            }
+        } catch (Exception ex) {
+            System.out.println("ERR. " + ex.getMessage());
+            System.out.println("------- End Prim 's MST -------");
+            System.exit(-1);
+        }
+        end = System.currentTimeMillis();
+        readTime = (double) (end - start) / 1000;
+
+        /* print read graph */
+        //System.out.println("The read graph:");
+        //printGraph(graph);
+        //System.out.println();
+
+        /* start the MST algorithm */
+        start = System.currentTimeMillis();
+        try {
+            if (null != streaming) {
+                streaming.solve(file, result);
+            } else if (null != external) {
+                external.solve(file, result);
+            } else if (doubleWeights) {
+                solver.solve(doubleGraph, (DoubleMstResult) result);
+            } else if (longWeights) {
+                solver.solve(longGraph, (LongMstResult) result);
+            } else if (null != denseGraph) {
+                solver.solve(denseGraph, result);
+            } else {
+                solver.solve(graph, result);
+            }
+        } catch (Exception ex) {
+            System.out.println("ERR. " + ex.getMessage());
+            System.out.println("------- End Prim 's MST -------");
+            System.exit(-1);
+        }
+        end = System.currentTimeMillis();
+        algoTime = (double) (end - start) / 1000;
+
+        /* print result */
+        if (!result.isSpanningTree() && !forest) {
+            System.out.println("ERR. The graph is not connected, it has " + result.components
+                    + " components. Use -forest for a minimum spanning forest.");
+            System.out.println("------- End Prim 's MST -------");
+            System.exit(-1);
+        }
+        if (forest) {
+            System.out.println("Overral cost of minimum spanning forest is: " + cost(result, -1));
+            System.out.println("The graph has " + result.components + " connected component(s).");
+            for (int i = 0; i < result.components && i < MAX_PRINTED_COMPONENTS; i++) {
+                System.out.println("Component " + (i + 1) + " has cost " + cost(result, i) + ".");
+            }
+            if (result.components > MAX_PRINTED_COMPONENTS) {
+                System.out.println("... and " + (result.components - MAX_PRINTED_COMPONENTS) + " more component(s).");
+            }
+            System.out.println();
+        } else {
+            System.out.println("Overral cost of minimum spanning tree is: " + cost(result, -1) + "\n");
+        }
+        if (null != outFile) {
+            try {
+                MstWriter.write(result, outFile);
+                System.out.println("Wrote the " + result.edgeCount + " edge(s) of the tree to " + outFile + ".\n");
+            } catch (Exception ex) {
+                System.out.println("ERR. " + ex.getMessage());
+            }
+        }
+        
+        System.out.println("Elapsed: " + readTime + " seconds with initializations, reading graph.");
+        System.out.println("Elapsed: " + algoTime + " seconds to calculate overall cost of a minimum spanning tree.");
+        if (null != stats) {
+            System.out.print(stats.equals("json") ? Stats.toJson() + "\n" : Stats.toCsv());
+        }
+        System.out.println("------- End Prim 's MST -------\n");
+    }
+
+    /**
+     * Solves every graph file of a batch, printing one result line per file.
+     *
+     * @param source A directory or a manifest file listing the graph files.
+     * @param outFile Where to write the result lines, standard output if null.
+     * @param algorithm The MST algorithm.
+     * @param heapName The heap strategy Prim 's algorithm runs on.
+     * @param pool The pool graphs are loaded and solved on, one graph per thread.
+     * @param memory Bytes the loaded graphs may take together.
+     * @param forest Accept disconnected graphs.
+     * @return The exit status: 0 if all files were solved, 1 otherwise.
+     * @throws Exception If the batch cannot be read.
+     */
+    public static int runBatch(String source, String outFile, String algorithm, String heapName, ForkJoinPool pool,
+            long memory, boolean forest) throws Exception {
+        long start = System.currentTimeMillis();
+        List<String> files = BatchSolver.listFiles(source);
+        BatchSolver batch = new BatchSolver(algorithm, heapName, pool, pool.getParallelism(), memory);
+        PrintStream out = null == outFile ? System.out : new PrintStream(new FileOutputStream(outFile), false);
+        batch.forest = forest;
+        int failed;
+        try {
+            failed = batch.run(files, out);
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+        System.out.println("Solved " + (files.size() - failed) + " of " + files.size() + " graph(s).");
+        System.out.println("Elapsed: " + (double) (System.currentTimeMillis() - start) / 1000 + " seconds for the batch.");
+        System.out.println("------- End Prim 's MST -------\n");
+        return failed == 0 ? 0 : 1;
+    }
+
+    /**
+     * Returns the cost of a tree or of one of its components, as a double
+     * for floating point weights.
+     *
+     * @param result The tree.
+     * @param component The component, or -1 for the whole tree.
+     * @return The cost.
+     */
+    public static String cost(MstResult result, int component) {
+        return String.valueOf(component == -1 ? result.totalCost() : result.componentCost(component));
+    }
+
+    /**
+     * Prints graph.
+     *
+     * @param graph The graph to print.
+     */
+    public static void printGraph(AdjacencyGraph graph) {
+        System.out.println("Graph has " + graph.vertexCount() + " vertices and " + graph.edgeCount() + " edge(s).");
+        for (int i = 0; i < graph.vertexCount(); i++) {
+            System.out.print("Vertex " + (i + 1) + " has edge(s) with: ");
+            if (graph.firstEdge(i) == graph.endEdge(i)) {
+                System.out.print("nobody");
+            } else {
+                for (long j = graph.firstEdge(i); j < graph.endEdge(i); j++) {
+                    System.out.print((graph.target(j) + 1) + "(" + graph.weight(j) + ") ");
+                }
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * Graphs, loaders, heaps and MST engines.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+module primmst.core {
+    requires java.management;
+    exports primmst;
+}
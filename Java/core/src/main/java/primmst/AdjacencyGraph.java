@@ -0,0 +1,47 @@
+package primmst;
+
+/**
+ * Read access to an undirected graph stored in compressed sparse row form,
+ * whatever holds the arrays. The neighbours of vertex v sit in the slots
+ * firstEdge(v) .. endEdge(v) - 1, every undirected edge taking a slot at each
+ * of its end points. Slots are long so that a graph may hold more than 2^31
+ * of them.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+public interface AdjacencyGraph {
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int vertexCount();
+
+    /**
+     * Returns the number of undirected edges.
+     */
+    public long edgeCount();
+
+    /**
+     * Returns the first slot of a vertex.
+     */
+    public long firstEdge(int vertex);
+
+    /**
+     * Returns the slot after the last slot of a vertex.
+     */
+    public long endEdge(int vertex);
+
+    /**
+     * Returns the neighbour in a slot.
+     */
+    public int target(long slot);
+
+    /**
+     * Returns the cost of the edge in a slot.
+     */
+    public int weight(long slot);
+}
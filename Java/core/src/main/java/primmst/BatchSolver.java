@@ -0,0 +1,230 @@
+package primmst;
+
+/**
+ * Solves many graph files in one JVM. The files come from a directory, taken
+ * in name order, or from a manifest listing one file per line. Each file is
+ * loaded and solved by a worker thread with its own MstSolver. Before it
+ * loads a graph, a worker takes the graph 's estimated memory from a budget
+ * and gives it back once the graph is solved, so large graphs wait instead of
+ * running out of memory. One result line is written per file, in input order:
+ * file, tab, cost, tab, number of components, tab, milliseconds
+ * or file, tab, ERR. message.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+public class BatchSolver {
+
+    public static final int BUDGET_UNIT = 1 << 10; // the budget is counted in KB
+
+    public String algorithm;
+    public String heapName;
+    public ForkJoinPool pool; // the pool graphs are loaded and solved on
+    public int workers; // number of graphs solved at once
+    public long memoryBudget; // bytes the loaded graphs may take together
+    public boolean forest; // report forests instead of failing on disconnected graphs
+
+    private Semaphore budget;
+    private ThreadLocal<MstSolver> solvers;
+
+    /**
+     * Constructor.
+     *
+     * @param algorithm The MST algorithm, see MstSolver.
+     * @param heapName The heap strategy Prim 's algorithm runs on, see MstSolver.
+     * @param pool The pool graphs are loaded and solved on.
+     * @param workers Number of graphs solved at once.
+     * @param memoryBudget Bytes the loaded graphs may take together.
+     * @throws Exception If the algorithm or the heap strategy is unknown.
+     */
+    public BatchSolver(String algorithm, String heapName, ForkJoinPool pool, int workers, long memoryBudget) throws Exception {
+        new MstSolver(algorithm, heapName, pool); // validates the names
+        this.algorithm = algorithm;
+        this.heapName = heapName;
+        this.pool = pool;
+        this.workers = workers;
+        this.memoryBudget = memoryBudget;
+        this.budget = new Semaphore(this.permits(memoryBudget));
+        this.solvers = new ThreadLocal<MstSolver>();
+    }
+
+    /**
+     * Lists the files of a batch: the files of a directory in name order, or
+     * the non empty lines of a manifest that do not start with #, relative
+     * to the manifest 's directory.
+     *
+     * @param source A directory or a manifest file.
+     * @return The files.
+     * @throws Exception If the source cannot be read.
+     */
+    public static List<String> listFiles(String source) throws Exception {
+        List<String> files = new ArrayList<String>();
+        File dir = new File(source);
+        if (dir.isDirectory()) {
+            File[] entries = dir.listFiles();
+            if (null == entries) {
+                throw new Exception("Could not list directory " + source + ".");
+            }
+            Arrays.sort(entries);
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].isFile()) {
+                    files.add(entries[i].getPath());
+                }
+            }
+            return files;
+        }
+        BufferedReader reader = new BufferedReader(new FileReader(source));
+        try {
+            String line;
+            File file;
+            while (null != (line = reader.readLine())) {
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#")) {
+                    continue;
+                }
+                file = new File(line);
+                if (!file.isAbsolute() && null != dir.getParentFile()) {
+                    file = new File(dir.getParentFile(), line);
+                }
+                files.add(file.getPath());
+            }
+        } finally {
+            reader.close();
+        }
+        return files;
+    }
+
+    /**
+     * Estimates the memory a graph file takes while it is loaded and solved:
+     * the edges read from the file, the CSR arrays built from them and the
+     * solver 's buffers. Only the header is read.
+     *
+     * @param file The graph file, in text or binary format.
+     * @return The estimate, in bytes.
+     * @throws Exception If the header cannot be read.
+     */
+    public static long estimateMemory(String file) throws Exception {
+        long n, m;
+        if (BinaryGraphFormat.isBinary(file)) {
+            FileInputStream fis = new FileInputStream(file);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(BinaryGraphFormat.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                while (header.hasRemaining() && fis.getChannel().read(header) > 0) {
+                }
+                n = header.getInt(8);
+                m = header.getInt(12);
+            } finally {
+                fis.close();
+            }
+        } else {
+            EdgeListReader reader = new EdgeListReader(file);
+            try {
+                reader.readHeader();
+                n = reader.n;
+                m = reader.m;
+            } finally {
+                reader.close();
+            }
+        }
+        // 12 bytes per read edge, 16 per CSR edge, 12 per edge list edge,
+        // 4 per offset, 9 per vertex of Prim 's arrays and about 12 per result edge
+        return 40 * m + 25 * n;
+    }
+
+    /**
+     * Solves all files and writes one result line per file.
+     *
+     * @param files The graph files.
+     * @param out Where to write the results.
+     * @return Number of files that could not be solved.
+     * @throws Exception If the workers are interrupted.
+     */
+    public int run(List<String> files, PrintStream out) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(this.workers);
+        List<Future<String>> lines = new ArrayList<Future<String>>(files.size());
+        int failed = 0;
+        String line;
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                final String file = files.get(i);
+                lines.add(executor.submit(new Callable<String>() {
+                    public String call() {
+                        return BatchSolver.this.solve(file);
+                    }
+                }));
+            }
+            for (int i = 0; i < lines.size(); i++) {
+                line = lines.get(i).get();
+                failed += line.contains("\tERR. ") ? 1 : 0;
+                out.println(line);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        out.flush();
+        return failed;
+    }
+
+    /**
+     * Loads and solves one file within the memory budget.
+     *
+     * @param file The graph file.
+     * @return The file 's result line.
+     */
+    protected String solve(String file) {
+        long start = System.currentTimeMillis();
+        int permits, acquired = 0;
+        try {
+            permits = this.permits(estimateMemory(file));
+            this.budget.acquire(permits);
+            acquired = permits;
+            MstSolver solver = this.solvers.get();
+            if (null == solver) {
+                solver = new MstSolver(this.algorithm, this.heapName, this.pool);
+                this.solvers.set(solver);
+            }
+            MstResult result = solver.solve(GraphLoader.load(file, this.pool));
+            if (!result.isSpanningTree() && !this.forest) {
+                throw new Exception("The graph is not connected, it has " + result.components + " components.");
+            }
+            return file + "\t" + result.cost + "\t" + result.components + "\t" + (System.currentTimeMillis() - start);
+        } catch (Exception ex) {
+            return file + "\tERR. " + ex.getMessage();
+        } finally {
+            this.budget.release(acquired);
+        }
+    }
+
+    /**
+     * Converts bytes to budget permits, a graph larger than the whole budget
+     * taking all of it so that it runs alone.
+     *
+     * @param bytes Number of bytes.
+     * @return Number of permits.
+     */
+    private int permits(long bytes) {
+        long budgetPermits = Math.max(1, Math.min(Integer.MAX_VALUE, this.memoryBudget / BUDGET_UNIT));
+        return (int) Math.max(1, Math.min(budgetPermits, (bytes + BUDGET_UNIT - 1) / BUDGET_UNIT));
+    }
+}
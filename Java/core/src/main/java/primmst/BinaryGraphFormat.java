@@ -0,0 +1,163 @@
+package primmst;
+
+/**
+ * Compact binary graph format. A file is a 24 byte header followed by the CSR
+ * arrays of the graph, all little endian:
+ * magic "PMST" (4 bytes), version (int), n (int), m (int),
+ * CRC32 of everything after the header (long),
+ * offsets (n + 1 ints), targets (2 * m ints), weights (2 * m ints).
+ * Loading maps the file and copies the arrays in bulk, nothing is parsed.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+public class BinaryGraphFormat {
+
+    public static final int MAGIC = 0x54534d50; // "PMST" read as a little endian int
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    public static final int BUFFER_SIZE = 1 << 20; // bytes written at once
+    public static final long WINDOW_SIZE = 1L << 28; // bytes mapped at once, a multiple of 4
+
+    /**
+     * Checks whether a file starts with the binary format 's magic.
+     *
+     * @param file The file to check.
+     * @return True if the file is in binary format.
+     * @throws Exception If the file cannot be read.
+     */
+    public static boolean isBinary(String file) throws Exception {
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && fis.getChannel().read(magic) > 0) {
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * Writes graph to file.
+     *
+     * @param graph The graph to write.
+     * @param file The file where to write the graph to.
+     * @throws Exception If the file cannot be written.
+     */
+    public static void write(Graph graph, String file) throws Exception {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32 crc = new CRC32();
+            channel.truncate(0);
+            channel.position(HEADER_SIZE);
+            writeInts(channel, buffer, graph.offsets, graph.n + 1, crc);
+            writeInts(channel, buffer, graph.targets, 2 * graph.m, crc);
+            writeInts(channel, buffer, graph.weights, 2 * graph.m, crc);
+
+            buffer.clear();
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.n).putInt(graph.m).putLong(crc.getValue());
+            buffer.flip();
+            channel.position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads graph from file.
+     *
+     * @param file The file where to read the graph from.
+     * @return The read graph.
+     * @throws Exception If the file is not a valid binary graph.
+     */
+    public static Graph read(String file) throws Exception {
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            FileChannel channel = fis.getChannel();
+            if (channel.size() < HEADER_SIZE) {
+                throw new Exception("Binary graph header is truncated.");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new Exception("Not a binary graph file.");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new Exception("Unsupported binary graph version " + header.getInt(4) + ".");
+            }
+            int n = header.getInt(8), m = header.getInt(12);
+            long checksum = header.getLong(16);
+            if (n < 0 || m < 0 || channel.size() != HEADER_SIZE + 4L * (n + 1) + 16L * m) {
+                throw new Exception("Binary graph size does not match its header.");
+            }
+
+            CRC32 crc = new CRC32();
+            int[] offsets = new int[n + 1], targets = new int[2 * m], weights = new int[2 * m];
+            long pos = HEADER_SIZE;
+            pos = readInts(channel, pos, offsets, crc);
+            pos = readInts(channel, pos, targets, crc);
+            readInts(channel, pos, weights, crc);
+            if (crc.getValue() != checksum) {
+                throw new Exception("Binary graph checksum mismatch.");
+            }
+            return new Graph(n, m, offsets, targets, weights);
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * Writes the first count ints of an array through a buffer.
+     */
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int count, CRC32 crc) throws Exception {
+        int done = 0, length;
+        while (done < count) {
+            length = Math.min(count - done, buffer.capacity() / 4);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, done, length);
+            buffer.limit(4 * length);
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            done += length;
+        }
+    }
+
+    /**
+     * Fills an array from the file, mapping it window by window.
+     *
+     * @return The file position after the array.
+     */
+    private static long readInts(FileChannel channel, long pos, int[] values, CRC32 crc) throws Exception {
+        int done = 0, length;
+        MappedByteBuffer window;
+        while (done < values.length) {
+            length = (int) Math.min(values.length - done, WINDOW_SIZE / 4);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, 4L * length);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            crc.update(window.duplicate());
+            window.asIntBuffer().get(values, done, length);
+            pos += 4L * length;
+            done += length;
+        }
+        return pos;
+    }
+}
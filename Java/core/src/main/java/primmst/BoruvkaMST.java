@@ -0,0 +1,295 @@
+package primmst;
+
+/**
+ * Parallel Boruvka 's minimum spanning tree algorithm on a fork join pool.
+ * Every round scans the edges in parallel to find the cheapest edge leaving
+ * each component, joins the components along those edges with a concurrent
+ * union find and drops the edges that became internal. Edges are compared by
+ * weight, then by position, so ties between equal weights are broken the
+ * same way on every run and the chosen edges never form a cycle. An edge
+ * chosen by both its components is recorded by the lower root, decided
+ * before any join, so the tree comes out in the same order on every run.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BoruvkaMST {
+
+    public static final int CHUNK_SIZE = 1 << 14; // edges or vertices handled by one task
+    public static final long NONE = Long.MAX_VALUE; // no cheapest edge found yet
+
+    public static final int SCAN = 0;
+    public static final int JOIN = 1;
+    public static final int COMPACT = 2;
+    public static final int COLLECT = 3;
+    public static final int CHOOSE = 4;
+
+    public int n;
+    public int m; // number of edges still between different components
+    public int[] tails;
+    public int[] heads;
+    public int[] weights;
+    public int[] nextTails; // where the remaining edges are compacted to
+    public int[] nextHeads;
+    public int[] nextWeights;
+    public boolean[] keep; // key is the edge, value tells if it leaves its component
+    public int[] chunkCounts; // key is the edge chunk, value is the count then the position of its kept edges
+    public long[] chunkSums; // key is the vertex chunk, value is the cost of the edges it joined
+    public int[] chunkJoined; // key is the vertex chunk, value is the count then the result position of the edges it joined
+    public int[] joined; // key is a root, value is the edge it is joined along in this round, -1 if none
+    public MstResult result;
+    public AtomicLongArray cheapest; // key is a root, value is its cheapest edge packed as weight and position
+    public ConcurrentUnionFind components;
+
+    /**
+     * Constructor.
+     *
+     * @param edges The graph 's edges. Their arrays are used as scratch space
+     * and hold no meaningful order afterwards.
+     * @param result Where to store the tree, empty.
+     */
+    public BoruvkaMST(EdgeList edges, MstResult result) {
+        this.n = edges.n;
+        this.m = edges.m;
+        this.tails = edges.tails;
+        this.heads = edges.heads;
+        this.weights = edges.weights;
+        this.nextTails = new int[edges.m];
+        this.nextHeads = new int[edges.m];
+        this.nextWeights = new int[edges.m];
+        this.keep = new boolean[edges.m];
+        this.chunkCounts = new int[(edges.m + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        this.chunkSums = new long[(edges.n + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        this.chunkJoined = new int[(edges.n + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        this.joined = new int[edges.n];
+        this.result = result;
+        this.cheapest = new AtomicLongArray(edges.n);
+        for (int i = 0; i < edges.n; i++) {
+            this.cheapest.set(i, NONE);
+        }
+        this.components = new ConcurrentUnionFind(edges.n);
+    }
+
+    /**
+     * Boruvka 's algorithm.
+     *
+     * @param edges The graph 's edges, used as scratch space.
+     * @param pool The pool to run on.
+     * @param result Where to store the tree, empty.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public static MstResult boruvka(EdgeList edges, ForkJoinPool pool, MstResult result) {
+        return new BoruvkaMST(edges, result).run(pool);
+    }
+
+    /**
+     * Runs rounds until no edge leaves a component.
+     *
+     * @param pool The pool to run on.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public MstResult run(ForkJoinPool pool) {
+        int edgeChunks, vertexChunks = (this.n + CHUNK_SIZE - 1) / CHUNK_SIZE, kept, i, aux;
+        int[] swap;
+        while (this.m > 0) {
+            edgeChunks = (this.m + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            pool.invoke(new RoundTask(this, SCAN, 0, edgeChunks));
+            kept = 0;
+            for (i = 0; i < edgeChunks; i++) {
+                aux = this.chunkCounts[i];
+                this.chunkCounts[i] = kept;
+                kept += aux;
+            }
+            if (kept == 0) {
+                break;
+            }
+
+            pool.invoke(new RoundTask(this, CHOOSE, 0, vertexChunks));
+            pool.invoke(new RoundTask(this, JOIN, 0, vertexChunks));
+            for (i = 0; i < vertexChunks; i++) {
+                this.result.cost += this.chunkSums[i];
+                aux = this.chunkJoined[i];
+                this.chunkJoined[i] = this.result.edgeCount;
+                this.result.edgeCount += aux;
+            }
+            pool.invoke(new RoundTask(this, COLLECT, 0, vertexChunks));
+
+            pool.invoke(new RoundTask(this, COMPACT, 0, edgeChunks));
+            swap = this.tails; this.tails = this.nextTails; this.nextTails = swap;
+            swap = this.heads; this.heads = this.nextHeads; this.nextHeads = swap;
+            swap = this.weights; this.weights = this.nextWeights; this.nextWeights = swap;
+            this.m = kept;
+        }
+        this.result.summarizeComponents();
+        return this.result;
+    }
+
+    /**
+     * Scans a chunk of edges: marks the edges leaving their component and
+     * offers them as the cheapest edge of both end components.
+     *
+     * @param chunk The chunk.
+     */
+    private void scan(int chunk) {
+        int from = chunk * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, this.m), count = 0, ru, rv;
+        long packed;
+        for (int i = from; i < to; i++) {
+            ru = this.components.find(this.tails[i]);
+            rv = this.components.find(this.heads[i]);
+            this.keep[i] = ru != rv;
+            if (ru != rv) {
+                count++;
+                packed = ((long) this.weights[i] << 32) | i;
+                this.offer(ru, packed);
+                this.offer(rv, packed);
+            }
+        }
+        this.chunkCounts[chunk] = count;
+    }
+
+    /**
+     * Lowers the cheapest edge of a root.
+     *
+     * @param root The root.
+     * @param packed The edge, packed as weight and position.
+     */
+    private void offer(int root, long packed) {
+        long current;
+        while ((current = this.cheapest.get(root)) > packed) {
+            if (this.cheapest.compareAndSet(root, current, packed)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Picks the edge each root of a chunk is joined along: its cheapest edge,
+     * unless the component at the other end chose the same edge and has the
+     * lower root. Nothing is joined yet, so the roots are those of the scan.
+     *
+     * @param chunk The chunk.
+     */
+    private void choose(int chunk) {
+        int from = chunk * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, this.n), edge, ru, other;
+        long packed;
+        for (int r = from; r < to; r++) {
+            packed = this.cheapest.get(r);
+            this.joined[r] = -1;
+            if (packed != NONE) {
+                edge = (int) packed;
+                ru = this.components.find(this.tails[edge]);
+                other = ru == r ? this.components.find(this.heads[edge]) : ru;
+                if (this.cheapest.get(other) != packed || r < other) {
+                    this.joined[r] = edge;
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins the components of a chunk of roots along the edges they chose and
+     * clears their cheapest edges for the next round.
+     *
+     * @param chunk The chunk.
+     */
+    private void join(int chunk) {
+        int from = chunk * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, this.n), edge, count = 0;
+        long sum = 0;
+        for (int r = from; r < to; r++) {
+            this.cheapest.set(r, NONE);
+            edge = this.joined[r];
+            if (edge != -1) {
+                if (this.components.union(this.tails[edge], this.heads[edge])) {
+                    sum += this.weights[edge];
+                    count++;
+                } else {
+                    this.joined[r] = -1;
+                }
+            }
+        }
+        this.chunkSums[chunk] = sum;
+        this.chunkJoined[chunk] = count;
+    }
+
+    /**
+     * Stores the edges a chunk of roots was joined along in the result, at
+     * the position the chunk was given.
+     *
+     * @param chunk The chunk.
+     */
+    private void collect(int chunk) {
+        int from = chunk * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, this.n), pos = this.chunkJoined[chunk], edge;
+        for (int r = from; r < to; r++) {
+            edge = this.joined[r];
+            if (edge != -1) {
+                this.result.tails[pos] = this.tails[edge];
+                this.result.heads[pos] = this.heads[edge];
+                this.result.weights[pos] = this.weights[edge];
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Copies the kept edges of a chunk to the next arrays.
+     *
+     * @param chunk The chunk.
+     */
+    private void compact(int chunk) {
+        int from = chunk * CHUNK_SIZE, to = Math.min(from + CHUNK_SIZE, this.m), pos = this.chunkCounts[chunk];
+        for (int i = from; i < to; i++) {
+            if (this.keep[i]) {
+                this.nextTails[pos] = this.tails[i];
+                this.nextHeads[pos] = this.heads[i];
+                this.nextWeights[pos] = this.weights[i];
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Task running one phase of a round over a range of chunks.
+     */
+    private static class RoundTask extends RecursiveAction {
+
+        public BoruvkaMST mst;
+        public int phase;
+        public int from;
+        public int to;
+
+        public RoundTask(BoruvkaMST mst, int phase, int from, int to) {
+            this.mst = mst;
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new RoundTask(this.mst, this.phase, this.from, middle),
+                        new RoundTask(this.mst, this.phase, middle, this.to));
+            } else if (this.to > this.from) {
+                if (this.phase == SCAN) {
+                    this.mst.scan(this.from);
+                } else if (this.phase == CHOOSE) {
+                    this.mst.choose(this.from);
+                } else if (this.phase == JOIN) {
+                    this.mst.join(this.from);
+                } else if (this.phase == COLLECT) {
+                    this.mst.collect(this.from);
+                } else {
+                    this.mst.compact(this.from);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package primmst;
+
+/**
+ * Disjoint sets over the vertices 0 .. n - 1 that may be used by many threads
+ * at once. Roots are linked by compare and set, always the greater root under
+ * the lower one, so no cycle can appear; finds halve the paths they walk.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ConcurrentUnionFind {
+
+    public AtomicIntegerArray parent; // key is the vertex, value is its parent, itself for a root
+
+    /**
+     * Constructor. Every vertex starts in its own set.
+     *
+     * @param n Number of vertices.
+     */
+    public ConcurrentUnionFind(int n) {
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            this.parent.set(i, i);
+        }
+    }
+
+    /**
+     * Finds the root of a vertex 's set.
+     *
+     * @param vertex The vertex.
+     * @return The root of its set at the time of the call.
+     */
+    public int find(int vertex) {
+        int p, gp;
+        while ((p = this.parent.get(vertex)) != vertex) {
+            gp = this.parent.get(p);
+            if (gp != p) {
+                this.parent.compareAndSet(vertex, p, gp);
+            }
+            vertex = gp;
+        }
+        return vertex;
+    }
+
+    /**
+     * Joins the sets of two vertices.
+     *
+     * @param a A vertex.
+     * @param b Another vertex.
+     * @return True if this call joined two different sets.
+     */
+    public boolean union(int a, int b) {
+        int aux;
+        while (true) {
+            a = this.find(a);
+            b = this.find(b);
+            if (a == b) {
+                return false;
+            }
+            if (a < b) {
+                aux = a;
+                a = b;
+                b = aux;
+            }
+            if (this.parent.compareAndSet(a, a, b)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package primmst;
+
+/**
+ * Indexed d-ary min heap over primitive arrays. A 4-ary or 8-ary heap is
+ * shallower than a binary one and reads the children of a node from adjacent
+ * slots, which makes sift downs more cache friendly.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class DaryHeap implements IndexedPriorityQueue {
+
+    public int d; // number of children a node has
+    public int lastFreePos; // last free position in heap
+    public int[] vertices; // heap 's elements, key is the position, value is the vertex
+    public int[] keys; // key is the vertex, value is its key
+    public int[] positions; // key is the vertex, value is position in vertices
+
+    /**
+     * Constructor.
+     *
+     * @param d Number of children a node has, at least 2.
+     * @param heapDimension Heap 's dimension, the vertices must be lower than it.
+     * @throws Exception If d is lower than 2.
+     */
+    public DaryHeap(int d, int heapDimension) throws Exception {
+        if (d < 2) {
+            throw new Exception("A d-ary heap needs d >= 2");
+        }
+        this.d = d;
+        this.lastFreePos = 0;
+        this.vertices = new int[heapDimension];
+        this.keys = new int[heapDimension];
+        this.positions = new int[heapDimension];
+        for (int i = 0; i < heapDimension; i++) {
+            this.positions[i] = -1;
+        }
+    }
+
+    public void insert(int vertex, int key) throws Exception {
+        if (this.lastFreePos == this.vertices.length) {
+            throw new Exception("Heap overflow");
+        }
+        if (this.positions[vertex] != -1) {
+            throw new Exception("Vertex already in heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
+        this.keys[vertex] = key;
+        this.siftUp(vertex, this.lastFreePos);
+        this.lastFreePos++;
+    }
+
+    public int extractMin() throws Exception {
+        if (this.lastFreePos == 0) {
+            throw new Exception("Empty heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
+        int vertex = this.vertices[0];
+        this.positions[vertex] = -1;
+        this.lastFreePos--;
+        if (this.lastFreePos > 0) {
+            this.siftDown(this.vertices[this.lastFreePos], 0);
+        }
+        return vertex;
+    }
+
+    public void decreaseKey(int vertex, int newKey) throws Exception {
+        int pos = this.positions[vertex];
+        if (pos == -1) {
+            throw new Exception("Vertex not in heap");
+        }
+        if (newKey > this.keys[vertex]) {
+            throw new Exception("New key is greater than current key");
+        }
+        if (Stats.ENABLED) {
+            Stats.decreaseKeys++;
+        }
+        this.keys[vertex] = newKey;
+        this.siftUp(vertex, pos);
+    }
+
+    public boolean contains(int vertex) {
+        return this.positions[vertex] != -1;
+    }
+
+    public int key(int vertex) {
+        return this.keys[vertex];
+    }
+
+    public int size() {
+        return this.lastFreePos;
+    }
+
+    public int capacity() {
+        return this.vertices.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.lastFreePos; i++) {
+            this.positions[this.vertices[i]] = -1;
+        }
+        this.lastFreePos = 0;
+    }
+
+    /**
+     * Moves a vertex up from a position until its parent is not greater.
+     *
+     * @param vertex The vertex to place.
+     * @param pos The position to start from.
+     */
+    private void siftUp(int vertex, int pos) {
+        int key = this.keys[vertex], parentPos, parent;
+        while (pos > 0) {
+            parentPos = (pos - 1) / this.d;
+            parent = this.vertices[parentPos];
+            if (this.keys[parent] <= key) {
+                break;
+            }
+            this.vertices[pos] = parent;
+            this.positions[parent] = pos;
+            pos = parentPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.vertices[pos] = vertex;
+        this.positions[vertex] = pos;
+    }
+
+    /**
+     * Moves a vertex down from a position until no child is smaller.
+     *
+     * @param vertex The vertex to place.
+     * @param pos The position to start from.
+     */
+    private void siftDown(int vertex, int pos) {
+        int key = this.keys[vertex], firstChildPos, lastChildPos, minChildPos, minKey, i;
+        while ((firstChildPos = this.d * pos + 1) < this.lastFreePos) {
+            lastChildPos = Math.min(firstChildPos + this.d, this.lastFreePos);
+            minChildPos = firstChildPos;
+            minKey = this.keys[this.vertices[firstChildPos]];
+            for (i = firstChildPos + 1; i < lastChildPos; i++) {
+                if (this.keys[this.vertices[i]] < minKey) {
+                    minKey = this.keys[this.vertices[i]];
+                    minChildPos = i;
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            this.vertices[pos] = this.vertices[minChildPos];
+            this.positions[this.vertices[pos]] = pos;
+            pos = minChildPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.vertices[pos] = vertex;
+        this.positions[vertex] = pos;
+    }
+}
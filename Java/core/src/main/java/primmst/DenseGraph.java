@@ -0,0 +1,161 @@
+package primmst;
+
+/**
+ * Graph stored as an adjacency matrix, for dense graphs like complete
+ * similarity graphs. Row u of the matrix holds the cost of the edge from u to
+ * every vertex, at weights[u * n + v], Integer.MAX_VALUE where there is no
+ * edge, with a bit per entry telling whether the edge exists. Of parallel
+ * edges only the cheapest is kept and self loops are dropped, as neither can
+ * belong to a spanning tree. The matrix is one Java array, so the graph has
+ * at most MAX_VERTICES vertices.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.Arrays;
+
+public class DenseGraph {
+
+    public static final int MAX_VERTICES = 46340; // MAX_VERTICES ^ 2 still fits an int
+
+    public int n;
+    public long m; // number of distinct edges, self loops excluded
+    public int[] weights; // key is u * n + v, value is the cost of the edge between u and v
+    public long[] present; // bit u * n + v tells whether u and v are joined
+    public long maxWeightEdges; // number of edges of weight Integer.MAX_VALUE, which look like no edge in weights
+
+    /**
+     * Constructor for a graph without edges.
+     *
+     * @param n Number of vertices the graph has.
+     * @throws Exception If the graph has too many vertices for a matrix.
+     */
+    public DenseGraph(int n) throws Exception {
+        if (n > MAX_VERTICES) {
+            throw new Exception("An adjacency matrix holds at most " + MAX_VERTICES + " vertices.");
+        }
+        this.n = n;
+        this.m = 0;
+        this.weights = new int[n * n];
+        this.present = new long[(n * n + 63) >>> 6];
+        this.maxWeightEdges = 0;
+        Arrays.fill(this.weights, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads graph from file, either in text or in binary format, straight
+     * into the matrix.
+     *
+     * @param file The file where to read the graph from.
+     * @return The read graph.
+     * @throws Exception If the file is malformed or the graph has too many vertices.
+     */
+    public static DenseGraph load(String file) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            return fromGraph(BinaryGraphFormat.read(file));
+        }
+        EdgeListReader reader = new EdgeListReader(file);
+        int[] tails = new int[OffHeapStorage.CHUNK_SIZE], heads = new int[OffHeapStorage.CHUNK_SIZE];
+        int[] weights = new int[OffHeapStorage.CHUNK_SIZE];
+        DenseGraph graph;
+        int read;
+        try {
+            reader.readLongHeader();
+            graph = new DenseGraph(reader.n);
+            long left = reader.edgeCount;
+            while (left > 0) {
+                read = reader.readEdges(tails, heads, weights, 0, (int) Math.min(OffHeapStorage.CHUNK_SIZE, left));
+                if (read == 0) {
+                    throw new Exception("Could not read edge on line " + (reader.edgeCount - left + 1));
+                }
+                for (int i = 0; i < read; i++) {
+                    graph.addEdge(tails[i], heads[i], weights[i]);
+                }
+                left -= read;
+            }
+        } finally {
+            reader.close();
+        }
+        return graph;
+    }
+
+    /**
+     * Copies a graph into a matrix.
+     *
+     * @param graph The graph.
+     * @return The matrix graph.
+     * @throws Exception If the graph has too many vertices.
+     */
+    public static DenseGraph fromGraph(AdjacencyGraph graph) throws Exception {
+        DenseGraph dense = new DenseGraph(graph.vertexCount());
+        long j, last;
+        for (int u = 0; u < dense.n; u++) {
+            last = graph.endEdge(u);
+            for (j = graph.firstEdge(u); j < last; j++) {
+                if (graph.target(j) > u) {
+                    dense.addEdge(u, graph.target(j), graph.weight(j));
+                }
+            }
+        }
+        return dense;
+    }
+
+    /**
+     * Adds an undirected edge, keeping the cheaper one if the vertices are
+     * already joined. Self loops are dropped.
+     *
+     * @param tail One end of the edge.
+     * @param head The other end of the edge.
+     * @param weight The edge cost.
+     */
+    public void addEdge(int tail, int head, int weight) {
+        if (tail == head) {
+            return;
+        }
+        int slot = tail * this.n + head, mirror = head * this.n + tail;
+        if (this.hasEdge(tail, head)) {
+            if (weight >= this.weights[slot]) {
+                return;
+            }
+            if (this.weights[slot] == Integer.MAX_VALUE) {
+                this.maxWeightEdges--;
+            }
+        } else {
+            this.present[slot >>> 6] |= 1L << slot;
+            this.present[mirror >>> 6] |= 1L << mirror;
+            this.m++;
+        }
+        if (weight == Integer.MAX_VALUE) {
+            this.maxWeightEdges++;
+        }
+        this.weights[slot] = weight;
+        this.weights[mirror] = weight;
+    }
+
+    /**
+     * Checks whether two vertices are joined.
+     *
+     * @param tail One vertex.
+     * @param head The other vertex.
+     * @return True if an edge joins them.
+     */
+    public boolean hasEdge(int tail, int head) {
+        int slot = tail * this.n + head;
+        return (this.present[slot >>> 6] & 1L << slot) != 0;
+    }
+
+    /**
+     * Returns the cost of the edge between two vertices.
+     *
+     * @param tail One vertex.
+     * @param head The other vertex.
+     * @return The cost, Integer.MAX_VALUE if hasEdge() is false.
+     */
+    public int weight(int tail, int head) {
+        return this.weights[tail * this.n + head];
+    }
+}
@@ -0,0 +1,45 @@
+package primmst;
+
+/**
+ * Read access to an undirected graph with floating point edge costs, laid
+ * out like an AdjacencyGraph. Like LongAdjacencyGraph it is an interface of
+ * its own so that the weights stay primitive. The costs are never NaN.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+public interface DoubleAdjacencyGraph {
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int vertexCount();
+
+    /**
+     * Returns the number of undirected edges.
+     */
+    public long edgeCount();
+
+    /**
+     * Returns the first slot of a vertex.
+     */
+    public long firstEdge(int vertex);
+
+    /**
+     * Returns the slot after the last slot of a vertex.
+     */
+    public long endEdge(int vertex);
+
+    /**
+     * Returns the neighbour in a slot.
+     */
+    public int target(long slot);
+
+    /**
+     * Returns the cost of the edge in a slot.
+     */
+    public double weight(long slot);
+}
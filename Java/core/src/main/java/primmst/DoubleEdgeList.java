@@ -0,0 +1,168 @@
+package primmst;
+
+/**
+ * Undirected edges of a graph with floating point weights in three parallel
+ * primitive arrays, each edge stored once. The double weight twin of
+ * EdgeList, used by Kruskal 's algorithm on a DoubleAdjacencyGraph.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class DoubleEdgeList {
+
+    public int n; // number of vertices
+    public int m; // number of edges
+    public int[] tails;
+    public int[] heads;
+    public double[] weights;
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices.
+     * @param m Number of edges.
+     * @param tails One end of each edge.
+     * @param heads The other end of each edge.
+     * @param weights The cost of each edge.
+     */
+    public DoubleEdgeList(int n, int m, int[] tails, int[] heads, double[] weights) {
+        this.n = n;
+        this.m = m;
+        this.tails = tails;
+        this.heads = heads;
+        this.weights = weights;
+    }
+
+    /**
+     * Collects the edges of a graph, taking every edge from its lower end
+     * point. Self loops are dropped as they never belong to a spanning tree.
+     *
+     * @param graph The graph.
+     * @return The graph 's edges.
+     * @throws Exception If the graph has too many edges for arrays.
+     */
+    public static DoubleEdgeList fromGraph(DoubleAdjacencyGraph graph) throws Exception {
+        return fromGraph(graph, null);
+    }
+
+    /**
+     * Collects the edges of a graph, reusing the arrays of an edge list if
+     * they are large enough.
+     *
+     * @param graph The graph.
+     * @param reuse The edge list to reuse, may be null.
+     * @return The graph 's edges.
+     * @throws Exception If the graph has too many edges for arrays.
+     */
+    public static DoubleEdgeList fromGraph(DoubleAdjacencyGraph graph, DoubleEdgeList reuse) throws Exception {
+        int n = graph.vertexCount(), u, count = 0;
+        long j, last, total = 0;
+        for (u = 0; u < n; u++) {
+            last = graph.endEdge(u);
+            for (j = graph.firstEdge(u); j < last; j++) {
+                if (graph.target(j) > u) {
+                    total++;
+                }
+            }
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new Exception("Too many edges for an edge list.");
+        }
+        DoubleEdgeList edges;
+        if (null != reuse && reuse.tails.length >= total) {
+            edges = reuse;
+            edges.n = n;
+            edges.m = (int) total;
+        } else {
+            edges = new DoubleEdgeList(n, (int) total, new int[(int) total], new int[(int) total], new double[(int) total]);
+        }
+        for (u = 0; u < n; u++) {
+            last = graph.endEdge(u);
+            for (j = graph.firstEdge(u); j < last; j++) {
+                if (graph.target(j) > u) {
+                    edges.tails[count] = u;
+                    edges.heads[count] = graph.target(j);
+                    edges.weights[count] = graph.weight(j);
+                    count++;
+                }
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Sorts all edges by weight.
+     */
+    public void sortByWeight() {
+        this.sortByWeight(0, this.m);
+    }
+
+    /**
+     * Sorts the edges from..to - 1 by weight with a stable least significant
+     * digit radix sort over the bits of the weights, so edges of equal
+     * weight keep their order. Passes in which all weights share the same
+     * digit are skipped.
+     *
+     * @param from First edge to sort.
+     * @param to Position after the last edge to sort.
+     */
+    public void sortByWeight(int from, int to) {
+        int length = to - from, shift, i, digit, pos;
+        if (length < 2) {
+            return;
+        }
+        int[] srcTails = this.tails, srcHeads = this.heads, dstTails = new int[length], dstHeads = new int[length];
+        double[] srcWeights = this.weights, dstWeights = new double[length];
+        int srcFrom = from, dstFrom = 0, aux;
+        int[] swap;
+        double[] swapWeights;
+        int[] counts = new int[EdgeList.RADIX];
+
+        for (shift = 0; shift < 64; shift += EdgeList.RADIX_BITS) {
+            for (i = 0; i < EdgeList.RADIX; i++) {
+                counts[i] = 0;
+            }
+            for (i = srcFrom; i < srcFrom + length; i++) {
+                counts[digit(srcWeights[i], shift)]++;
+            }
+            if (counts[digit(srcWeights[srcFrom], shift)] == length) {
+                continue; // every weight has the same digit
+            }
+            for (i = 0, pos = dstFrom; i < EdgeList.RADIX; i++) {
+                aux = counts[i];
+                counts[i] = pos;
+                pos += aux;
+            }
+            for (i = srcFrom; i < srcFrom + length; i++) {
+                digit = digit(srcWeights[i], shift);
+                pos = counts[digit]++;
+                dstTails[pos] = srcTails[i];
+                dstHeads[pos] = srcHeads[i];
+                dstWeights[pos] = srcWeights[i];
+            }
+            swap = srcTails; srcTails = dstTails; dstTails = swap;
+            swap = srcHeads; srcHeads = dstHeads; dstHeads = swap;
+            swapWeights = srcWeights; srcWeights = dstWeights; dstWeights = swapWeights;
+            aux = srcFrom; srcFrom = dstFrom; dstFrom = aux;
+        }
+        if (srcTails != this.tails) {
+            System.arraycopy(srcTails, srcFrom, this.tails, from, length);
+            System.arraycopy(srcHeads, srcFrom, this.heads, from, length);
+            System.arraycopy(srcWeights, srcFrom, this.weights, from, length);
+        }
+    }
+
+    /**
+     * Returns a radix digit of a weight. The bits of a double sort as an
+     * unsigned long once the sign bit of a positive weight is flipped and
+     * all bits of a negative weight are flipped.
+     */
+    private static int digit(double weight, int shift) {
+        long bits = Double.doubleToRawLongBits(weight);
+        return (int) ((bits ^ (bits >> 63 | Long.MIN_VALUE)) >>> shift) & (EdgeList.RADIX - 1);
+    }
+}
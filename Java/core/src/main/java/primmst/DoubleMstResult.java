@@ -0,0 +1,125 @@
+package primmst;
+
+/**
+ * Minimum spanning tree, or forest, of a graph with floating point weights.
+ * The edge costs are kept in doubleWeights, the overall cost in doubleCost
+ * and the component costs in doubleComponentCosts, and read through
+ * doubleWeightOf(), totalCost() and componentCost(); the long fields
+ * inherited for them stay 0. The costs are plain sums in the order the edges were
+ * added, so they are exactly repeatable for one algorithm but may differ in
+ * the last bits between algorithms. A tree holding both an infinite and a
+ * negative infinite edge costs NaN.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class DoubleMstResult extends MstResult {
+
+    protected double[] doubleWeights; // the cost of each tree edge
+    protected double doubleCost; // overall cost of the tree
+    protected double[] doubleComponentCosts; // key is the component, value is the cost of its tree
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public DoubleMstResult(int n) {
+        super(n);
+    }
+
+    /**
+     * Removes all edges and makes room for the tree of a graph with n
+     * vertices, keeping the arrays if they are large enough.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public void reset(int n) {
+        this.n = n;
+        if (null == this.tails || this.tails.length < n - 1) {
+            this.tails = new int[Math.max(n - 1, 0)];
+            this.heads = new int[Math.max(n - 1, 0)];
+            this.doubleWeights = new double[Math.max(n - 1, 0)];
+            this.weights = new int[0];
+        }
+        this.clear();
+    }
+
+    /**
+     * Removes all edges.
+     */
+    public void clear() {
+        super.clear();
+        this.doubleCost = 0;
+    }
+
+    /**
+     * Starts a new connected component.
+     */
+    public void startComponent() {
+        super.startComponent();
+        if (null == this.doubleComponentCosts || this.doubleComponentCosts.length < this.componentCosts.length) {
+            double[] costs = new double[this.componentCosts.length];
+            if (null != this.doubleComponentCosts) {
+                System.arraycopy(this.doubleComponentCosts, 0, costs, 0, this.components - 1);
+            }
+            this.doubleComponentCosts = costs;
+        }
+        this.doubleComponentCosts[this.components - 1] = 0;
+    }
+
+    /**
+     * Returns the cost of a tree edge, truncated to a long.
+     */
+    public long weightOf(int edge) {
+        return (long) this.doubleWeights[edge];
+    }
+
+    /**
+     * Returns the cost of a tree edge.
+     *
+     * @param edge The edge, lower than edgeCount.
+     * @return The edge cost.
+     */
+    public double doubleWeightOf(int edge) {
+        return this.doubleWeights[edge];
+    }
+
+    public Number totalCost() {
+        return this.doubleCost;
+    }
+
+    public Number componentCost(int component) {
+        return this.doubleComponentCosts[component];
+    }
+
+    protected void addToComponent(int component, int edge) {
+        this.doubleComponentCosts[component] += this.doubleWeights[edge];
+    }
+
+    /**
+     * Adds a tree edge with an int cost.
+     */
+    public void addEdge(int tail, int head, int weight) {
+        this.addEdge(tail, head, (double) weight);
+    }
+
+    /**
+     * Adds a tree edge.
+     *
+     * @param tail One end of the edge.
+     * @param head The other end of the edge.
+     * @param weight The edge cost.
+     */
+    public void addEdge(int tail, int head, double weight) {
+        this.tails[this.edgeCount] = tail;
+        this.heads[this.edgeCount] = head;
+        this.doubleWeights[this.edgeCount] = weight;
+        this.edgeCount++;
+        this.doubleCost += weight;
+    }
+}
@@ -0,0 +1,648 @@
+package primmst;
+
+/**
+ * Minimum spanning forest kept up to date under edge insertions, removals
+ * and weight changes, so that a changed graph does not need to be read and
+ * solved again. The forest is held in a link cut tree in which every tree
+ * edge is a node of its own, so the heaviest edge on the path between two
+ * vertices is found in O(log n) amortized time.
+ *
+ * By the cycle property, a new edge, or a non tree edge made cheaper, only
+ * enters the forest in place of the heaviest edge on the path between its
+ * ends, if that edge is heavier: O(log n) amortized. Removing a tree edge, or
+ * making it heavier, cuts its tree in two; the replacement is the cheapest
+ * edge between the two halves, looked for from the smaller half only, found
+ * by walking both halves in turn until one is done. That costs the edges
+ * incident to the smaller half instead of a full recompute. Removing a non
+ * tree edge or making it heavier changes nothing.
+ *
+ * Edges are named by the ids addEdge returns; the id of a removed edge is
+ * handed out again. The overall cost and the number of trees are kept in
+ * public fields, current after every call.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.Arrays;
+
+public class DynamicMST {
+
+    public static final int INITIAL_CAPACITY = 16; // edges room is made for at first
+
+    public int n; // number of vertices
+    public int edgeCount; // number of edges, in the forest or not
+    public int treeEdgeCount; // number of edges in the forest
+    public long cost; // overall cost of the forest
+    public int components; // number of trees in the forest
+
+    /* the edges, by id */
+    private int[] tails;
+    private int[] heads;
+    private int[] weights;
+    private boolean[] live; // whether the id names an edge
+    private boolean[] inTree;
+    private int nextId; // ids below nextId were handed out
+    private int[] freeIds; // ids of removed edges
+    private int freeCount;
+
+    /* incidence lists: half edge 2 * e sits at the tail of edge e, 2 * e + 1 at its head */
+    private int[] firstHalf; // key is the vertex, value is its first half edge, -1 if none
+    private int[] nextHalf;
+    private int[] prevHalf;
+
+    /* link cut tree: node v < n is vertex v, node n + e is tree edge e */
+    private int[] left;
+    private int[] right;
+    private int[] parent; // splay parent, or path parent for the root of a splay tree
+    private int[] heaviest; // key is the node, value is the heaviest edge node of its splay subtree, -1 if none
+    private boolean[] flipped; // the splay subtree is to be mirrored
+    private int[] stack; // nodes pushed down before a splay
+
+    /* the walk over both halves of a cut tree */
+    private int[] marks; // key is the vertex, value is the stamp of the half it was reached in
+    private int[] queue; // the first half walks from 0, the other from n
+    private int stamp;
+
+    /**
+     * Constructor for a graph without edges.
+     *
+     * @param n Number of vertices the graph has.
+     */
+    public DynamicMST(int n) {
+        this.n = n;
+        this.components = n;
+        this.firstHalf = new int[n];
+        this.marks = new int[n];
+        this.queue = new int[2 * n];
+        Arrays.fill(this.firstHalf, -1);
+        this.tails = this.heads = this.weights = this.nextHalf = this.prevHalf = new int[0];
+        this.left = this.right = this.parent = this.heaviest = new int[0];
+        this.live = this.inTree = this.flipped = new boolean[0];
+        this.freeIds = new int[INITIAL_CAPACITY];
+        this.grow(INITIAL_CAPACITY); // every array is copied apart
+        for (int v = 0; v < n; v++) {
+            this.left[v] = this.right[v] = this.parent[v] = this.heaviest[v] = -1;
+        }
+    }
+
+    /**
+     * Constructor starting from a graph and its minimum spanning forest, as
+     * computed by MstSolver. The tree edges get the ids 0 to
+     * tree.edgeCount - 1, in the order of the result, the other edges follow
+     * in the order of the graph. Self loops are dropped.
+     *
+     * @param graph The graph.
+     * @param tree A minimum spanning forest of the graph, with int weights.
+     * @throws Exception If the tree has 64 bit or floating point weights, or
+     * is not a forest of edges of the graph.
+     */
+    public DynamicMST(AdjacencyGraph graph, MstResult tree) throws Exception {
+        this(graph.vertexCount());
+        if (tree instanceof LongMstResult || tree instanceof DoubleMstResult) {
+            throw new Exception("The tree must have int weights.");
+        }
+        if (tree.n != this.n) {
+            throw new Exception("The tree does not belong to the graph.");
+        }
+        int e, u, v, w, slot, bits = 1;
+        long j, last;
+        while (1 << bits < 2 * tree.edgeCount) {
+            bits++;
+        }
+        int[] slots = new int[1 << bits]; // open addressing table of the tree edges by their ends
+        boolean[] matched = new boolean[tree.edgeCount];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < tree.edgeCount; i++) {
+            u = tree.tails[i];
+            v = tree.heads[i];
+            this.checkVertex(u);
+            this.checkVertex(v);
+            if (u == v || this.findRoot(u) == this.findRoot(v)) {
+                throw new Exception("The tree has a cycle.");
+            }
+            e = this.attach(u, v, (int) tree.weightOf(i));
+            this.link(e);
+            this.components--;
+            for (slot = hash(u, v, bits); slots[slot] != -1; slot = slot + 1 & slots.length - 1) {
+            }
+            slots[slot] = e;
+        }
+
+        /* add the other edges, each tree edge once found in the graph is left out */
+        for (u = 0; u < this.n; u++) {
+            last = graph.endEdge(u);
+            for (j = graph.firstEdge(u); j < last; j++) {
+                v = graph.target(j);
+                w = graph.weight(j);
+                if (v <= u) {
+                    continue;
+                }
+                for (slot = hash(u, v, bits); (e = slots[slot]) != -1; slot = slot + 1 & slots.length - 1) {
+                    if (!matched[e] && this.weights[e] == w && Math.min(this.tails[e], this.heads[e]) == u
+                            && Math.max(this.tails[e], this.heads[e]) == v) {
+                        break;
+                    }
+                }
+                if (e != -1) {
+                    matched[e] = true;
+                } else {
+                    this.attach(u, v, w);
+                }
+            }
+        }
+        for (e = 0; e < tree.edgeCount; e++) {
+            if (!matched[e]) {
+                throw new Exception("The tree does not belong to the graph.");
+            }
+        }
+    }
+
+    /**
+     * Hashes the ends of an edge into a table of 2 ^ bits slots.
+     */
+    private static int hash(int u, int v, int bits) {
+        long key = (long) Math.min(u, v) << 32 | Math.max(u, v);
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 64 - bits);
+    }
+
+    /**
+     * Adds an undirected edge, which replaces the heaviest edge on the path
+     * between its ends if that one is heavier.
+     *
+     * @param tail One end of the edge, 0 based.
+     * @param head The other end of the edge, 0 based.
+     * @param weight The edge cost.
+     * @return The id of the edge.
+     * @throws Exception If a vertex does not exist.
+     */
+    public int addEdge(int tail, int head, int weight) throws Exception {
+        this.checkVertex(tail);
+        this.checkVertex(head);
+        int e = this.attach(tail, head, weight);
+        if (tail == head) {
+            return e;
+        }
+        if (this.findRoot(tail) != this.findRoot(head)) {
+            this.link(e);
+            this.components--;
+        } else {
+            this.offer(e);
+        }
+        return e;
+    }
+
+    /**
+     * Removes an edge. A tree edge is replaced by the cheapest edge joining
+     * the two halves of its tree, if any.
+     *
+     * @param edge The id of the edge.
+     * @throws Exception If the edge does not exist.
+     */
+    public void removeEdge(int edge) throws Exception {
+        this.checkEdge(edge);
+        this.detach(edge);
+        if (this.inTree[edge]) {
+            this.cut(edge);
+            this.reconnect(this.tails[edge], this.heads[edge]);
+        }
+    }
+
+    /**
+     * Changes the cost of an edge. A tree edge made heavier may be replaced
+     * by an edge joining the two halves of its tree, a non tree edge made
+     * cheaper may replace the heaviest edge on the path between its ends.
+     *
+     * @param edge The id of the edge.
+     * @param weight The new edge cost.
+     * @throws Exception If the edge does not exist.
+     */
+    public void setWeight(int edge, int weight) throws Exception {
+        this.checkEdge(edge);
+        int old = this.weights[edge], node = this.n + edge;
+        if (weight == old) {
+            return;
+        }
+        if (this.inTree[edge] && weight < old) {
+            this.splay(node);
+            this.weights[edge] = weight;
+            this.pull(node);
+            this.cost += (long) weight - old;
+        } else if (this.inTree[edge]) {
+            this.cut(edge);
+            this.weights[edge] = weight;
+            this.reconnect(this.tails[edge], this.heads[edge]);
+        } else {
+            this.weights[edge] = weight;
+            if (weight < old && this.tails[edge] != this.heads[edge]) {
+                this.offer(edge);
+            }
+        }
+    }
+
+    /**
+     * Finds the cheapest edge between two vertices.
+     *
+     * @param tail One end of the edge.
+     * @param head The other end of the edge.
+     * @return The id of the edge, -1 if the vertices are not joined.
+     * @throws Exception If a vertex does not exist.
+     */
+    public int findEdge(int tail, int head) throws Exception {
+        this.checkVertex(tail);
+        this.checkVertex(head);
+        int found = -1, e;
+        for (int half = this.firstHalf[tail]; half != -1; half = this.nextHalf[half]) {
+            e = half >>> 1;
+            if ((this.tails[e] == head || this.heads[e] == head) && (found == -1 || this.weights[e] < this.weights[found])) {
+                found = e;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks whether an edge is part of the forest.
+     *
+     * @param edge The id of the edge.
+     * @return True if the edge is a tree edge.
+     * @throws Exception If the edge does not exist.
+     */
+    public boolean isTreeEdge(int edge) throws Exception {
+        this.checkEdge(edge);
+        return this.inTree[edge];
+    }
+
+    /**
+     * Returns the cost of an edge.
+     *
+     * @param edge The id of the edge.
+     * @return The edge cost.
+     * @throws Exception If the edge does not exist.
+     */
+    public int weight(int edge) throws Exception {
+        this.checkEdge(edge);
+        return this.weights[edge];
+    }
+
+    /**
+     * Copies the forest into a result that is reset first, for MstWriter.
+     *
+     * @param result Where to store the forest.
+     * @return The result.
+     */
+    public MstResult toResult(MstResult result) {
+        result.reset(this.n);
+        for (int e = 0; e < this.nextId; e++) {
+            if (this.live[e] && this.inTree[e]) {
+                result.addEdge(this.tails[e], this.heads[e], this.weights[e]);
+            }
+        }
+        result.summarizeComponents();
+        return result;
+    }
+
+    /* edges */
+
+    /**
+     * Stores a new edge, outside the forest, and adds it to the incidence
+     * lists of its ends.
+     */
+    private int attach(int tail, int head, int weight) {
+        int e;
+        if (this.freeCount > 0) {
+            e = this.freeIds[--this.freeCount];
+        } else {
+            if (this.nextId == this.tails.length) {
+                this.grow(2 * this.tails.length);
+            }
+            e = this.nextId++;
+        }
+        this.tails[e] = tail;
+        this.heads[e] = head;
+        this.weights[e] = weight;
+        this.live[e] = true;
+        this.inTree[e] = false;
+        this.edgeCount++;
+        this.pushHalf(2 * e, tail);
+        this.pushHalf(2 * e + 1, head);
+        return e;
+    }
+
+    /**
+     * Removes an edge from the incidence lists and frees its id; the edge
+     * stays in the forest until cut.
+     */
+    private void detach(int e) {
+        this.removeHalf(2 * e, this.tails[e]);
+        this.removeHalf(2 * e + 1, this.heads[e]);
+        this.live[e] = false;
+        this.edgeCount--;
+        if (this.freeCount == this.freeIds.length) {
+            this.freeIds = Arrays.copyOf(this.freeIds, 2 * this.freeIds.length);
+        }
+        this.freeIds[this.freeCount++] = e;
+    }
+
+    private void pushHalf(int half, int v) {
+        this.prevHalf[half] = -1;
+        this.nextHalf[half] = this.firstHalf[v];
+        if (this.firstHalf[v] != -1) {
+            this.prevHalf[this.firstHalf[v]] = half;
+        }
+        this.firstHalf[v] = half;
+    }
+
+    private void removeHalf(int half, int v) {
+        if (this.prevHalf[half] == -1) {
+            this.firstHalf[v] = this.nextHalf[half];
+        } else {
+            this.nextHalf[this.prevHalf[half]] = this.nextHalf[half];
+        }
+        if (this.nextHalf[half] != -1) {
+            this.prevHalf[this.nextHalf[half]] = this.prevHalf[half];
+        }
+    }
+
+    /**
+     * Makes room for a number of edges.
+     */
+    private void grow(int capacity) {
+        int nodes = this.n + capacity;
+        this.tails = Arrays.copyOf(this.tails, capacity);
+        this.heads = Arrays.copyOf(this.heads, capacity);
+        this.weights = Arrays.copyOf(this.weights, capacity);
+        this.live = Arrays.copyOf(this.live, capacity);
+        this.inTree = Arrays.copyOf(this.inTree, capacity);
+        this.nextHalf = Arrays.copyOf(this.nextHalf, 2 * capacity);
+        this.prevHalf = Arrays.copyOf(this.prevHalf, 2 * capacity);
+        this.left = Arrays.copyOf(this.left, nodes);
+        this.right = Arrays.copyOf(this.right, nodes);
+        this.parent = Arrays.copyOf(this.parent, nodes);
+        this.heaviest = Arrays.copyOf(this.heaviest, nodes);
+        this.flipped = Arrays.copyOf(this.flipped, nodes);
+        this.stack = new int[nodes];
+    }
+
+    /* the forest */
+
+    /**
+     * Puts a non tree edge, whose ends are in the same tree, in place of the
+     * heaviest edge on the path between them if that one is heavier.
+     */
+    private void offer(int e) {
+        this.makeRoot(this.tails[e]);
+        this.access(this.heads[e]);
+        int replaced = this.heaviest[this.heads[e]] - this.n;
+        if (this.weights[replaced] > this.weights[e]) {
+            this.cut(replaced);
+            this.link(e);
+        }
+    }
+
+    /**
+     * Joins the two halves of a cut tree, holding u and v, by the cheapest
+     * edge between them. Both halves are walked in turn, along tree edges,
+     * until one is done; only the edges of that one are then looked at.
+     */
+    private void reconnect(int u, int v) {
+        if (this.stamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(this.marks, 0);
+            this.stamp = 0;
+        }
+        int mark = this.stamp += 2, headU = 0, tailU = 0, headV = this.n, tailV = this.n, start, end, x, y, e, best = -1;
+        this.marks[u] = mark;
+        this.marks[v] = mark + 1;
+        this.queue[tailU++] = u;
+        this.queue[tailV++] = v;
+        while (headU < tailU && headV < tailV) {
+            tailU = this.walk(this.queue[headU++], mark, tailU);
+            tailV = this.walk(this.queue[headV++], mark + 1, tailV);
+        }
+        if (headU == tailU) {
+            start = 0;
+            end = tailU;
+        } else {
+            start = this.n;
+            end = tailV;
+            mark++;
+        }
+
+        /* the cheapest edge leaving the finished half */
+        for (int i = start; i < end; i++) {
+            x = this.queue[i];
+            for (int half = this.firstHalf[x]; half != -1; half = this.nextHalf[half]) {
+                e = half >>> 1;
+                y = (half & 1) == 0 ? this.heads[e] : this.tails[e];
+                if (this.marks[y] != mark && (best == -1 || this.weights[e] < this.weights[best])) {
+                    best = e;
+                }
+            }
+        }
+        if (best == -1) {
+            this.components++;
+        } else {
+            this.link(best);
+        }
+    }
+
+    /**
+     * Queues the neighbours of x along tree edges not yet reached in a walk.
+     */
+    private int walk(int x, int mark, int tail) {
+        int e, y;
+        for (int half = this.firstHalf[x]; half != -1; half = this.nextHalf[half]) {
+            e = half >>> 1;
+            y = (half & 1) == 0 ? this.heads[e] : this.tails[e];
+            if (this.inTree[e] && this.marks[y] != mark) {
+                this.marks[y] = mark;
+                this.queue[tail++] = y;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Adds an edge whose ends are in different trees to the forest.
+     */
+    private void link(int e) {
+        int node = this.n + e;
+        this.left[node] = this.right[node] = this.parent[node] = -1;
+        this.heaviest[node] = node;
+        this.flipped[node] = false;
+        this.makeRoot(this.tails[e]);
+        this.parent[this.tails[e]] = node;
+        this.makeRoot(node);
+        this.parent[node] = this.heads[e];
+        this.inTree[e] = true;
+        this.treeEdgeCount++;
+        this.cost += this.weights[e];
+    }
+
+    /**
+     * Removes a tree edge from the forest.
+     */
+    private void cut(int e) {
+        int node = this.n + e;
+        this.cut(this.tails[e], node);
+        this.cut(node, this.heads[e]);
+        this.inTree[e] = false;
+        this.treeEdgeCount--;
+        this.cost -= this.weights[e];
+    }
+
+    /**
+     * Cuts two adjacent nodes apart.
+     */
+    private void cut(int x, int y) {
+        this.makeRoot(x);
+        this.access(y);
+        this.left[y] = -1;
+        this.parent[x] = -1;
+        this.pull(y);
+    }
+
+    private int findRoot(int x) {
+        this.access(x);
+        while (true) {
+            this.push(x);
+            if (this.left[x] == -1) {
+                break;
+            }
+            x = this.left[x];
+        }
+        this.splay(x);
+        return x;
+    }
+
+    private void makeRoot(int x) {
+        this.access(x);
+        this.flipped[x] ^= true;
+    }
+
+    /**
+     * Makes the path from the root of its tree to x preferred, with x at the
+     * root of its splay tree.
+     */
+    private void access(int x) {
+        int last = -1;
+        for (int y = x; y != -1; y = this.parent[y]) {
+            this.splay(y);
+            this.right[y] = last;
+            this.pull(y);
+            last = y;
+        }
+        this.splay(x);
+    }
+
+    private boolean isRoot(int x) {
+        int p = this.parent[x];
+        return p == -1 || (this.left[p] != x && this.right[p] != x);
+    }
+
+    private void splay(int x) {
+        int top = 0, y = x, p;
+        this.stack[top++] = y;
+        while (!this.isRoot(y)) {
+            y = this.parent[y];
+            this.stack[top++] = y;
+        }
+        while (top > 0) {
+            this.push(this.stack[--top]);
+        }
+        while (!this.isRoot(x)) {
+            p = this.parent[x];
+            if (!this.isRoot(p)) {
+                this.rotate((this.left[this.parent[p]] == p) == (this.left[p] == x) ? p : x);
+            }
+            this.rotate(x);
+        }
+    }
+
+    private void rotate(int x) {
+        int p = this.parent[x], g = this.parent[p];
+        if (!this.isRoot(p)) {
+            if (this.left[g] == p) {
+                this.left[g] = x;
+            } else {
+                this.right[g] = x;
+            }
+        }
+        this.parent[x] = g;
+        if (this.left[p] == x) {
+            this.left[p] = this.right[x];
+            if (this.right[x] != -1) {
+                this.parent[this.right[x]] = p;
+            }
+            this.right[x] = p;
+        } else {
+            this.right[p] = this.left[x];
+            if (this.left[x] != -1) {
+                this.parent[this.left[x]] = p;
+            }
+            this.left[x] = p;
+        }
+        this.parent[p] = x;
+        this.pull(p);
+        this.pull(x);
+    }
+
+    /**
+     * Mirrors the children of x if it is flagged, handing the flag down.
+     */
+    private void push(int x) {
+        if (this.flipped[x]) {
+            int child = this.left[x];
+            this.left[x] = this.right[x];
+            this.right[x] = child;
+            if (this.left[x] != -1) {
+                this.flipped[this.left[x]] ^= true;
+            }
+            if (this.right[x] != -1) {
+                this.flipped[this.right[x]] ^= true;
+            }
+            this.flipped[x] = false;
+        }
+    }
+
+    /**
+     * Recomputes the heaviest edge node of the splay subtree of x.
+     */
+    private void pull(int x) {
+        int best = x >= this.n ? x : -1;
+        if (this.left[x] != -1) {
+            best = this.heavier(best, this.heaviest[this.left[x]]);
+        }
+        if (this.right[x] != -1) {
+            best = this.heavier(best, this.heaviest[this.right[x]]);
+        }
+        this.heaviest[x] = best;
+    }
+
+    private int heavier(int a, int b) {
+        if (a == -1) {
+            return b;
+        }
+        if (b == -1) {
+            return a;
+        }
+        return this.weights[a - this.n] >= this.weights[b - this.n] ? a : b;
+    }
+
+    /* checks */
+
+    private void checkVertex(int v) throws Exception {
+        if (v < 0 || v >= this.n) {
+            throw new Exception("Vertex " + v + " does not exist.");
+        }
+    }
+
+    private void checkEdge(int e) throws Exception {
+        if (e < 0 || e >= this.nextId || !this.live[e]) {
+            throw new Exception("Edge " + e + " does not exist.");
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package primmst;
+
+/**
+ * Reads graphs in the edge list text format
+ * [number_of_nodes] [number_of_edges]
+ * [one_node_of_edge] [other_node_of_edge] [edge_cost]
+ * ...
+ * straight from a memory mapped file. The bytes are parsed one by one into
+ * primitive arrays, no String is created for a line. Vertices are 1 based in
+ * the file and 0 based in the arrays. Files larger than a mapping window are
+ * mapped window by window.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+public class EdgeListReader {
+
+    public static final long WINDOW_SIZE = 1L << 28; // bytes mapped at once
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22}; // exact as doubles
+
+    public int n; // number of vertices, read from header or given
+    public int m; // number of edges, read from header, -1 if it does not fit an int
+    public long edgeCount; // number of edges, read from header
+    public long line; // number of edge lines read so far
+    public long firstLine; // number of edge lines before this reader 's first byte
+    public String error; // what could not be read, null while there is no error
+
+    private FileInputStream fis; // the opened file, null if the channel is not ours
+    private FileChannel channel;
+    private long end; // position after the last byte to read
+    private MappedByteBuffer buffer; // the mapped window
+    private long bufferStart; // file position of the window 's first byte
+    private int c; // current byte, not consumed yet, -1 at end of input
+    private byte[] token = new byte[32]; // bytes of the decimal being parsed, for the slow path
+    private int tokenLength;
+
+    /**
+     * Constructor. Opens a whole file, starting with its header.
+     *
+     * @param file The file where to read the graph from.
+     * @throws Exception If the file cannot be opened or mapped.
+     */
+    public EdgeListReader(String file) throws Exception {
+        this.fis = new FileInputStream(file);
+        try {
+            this.init(this.fis.getChannel(), 0, this.fis.getChannel().size(), -1, 0);
+        } catch (Exception ex) {
+            this.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Constructor. Reads edge lines from a byte range of an already opened
+     * file; the range must start at the beginning of a line.
+     *
+     * @param channel The opened file, left open by close().
+     * @param start Position of the range 's first byte.
+     * @param end Position after the range 's last byte.
+     * @param n Number of vertices the graph has, used to check the vertices.
+     * @param firstLine Number of edge lines before the range, used in error messages.
+     * @throws Exception If the range cannot be mapped.
+     */
+    public EdgeListReader(FileChannel channel, long start, long end, int n, long firstLine) throws Exception {
+        this.fis = null;
+        this.init(channel, start, end, n, firstLine);
+    }
+
+    /**
+     * Maps the first window and reads the first byte.
+     */
+    private void init(FileChannel channel, long start, long end, int n, long firstLine) throws Exception {
+        this.channel = channel;
+        this.end = end;
+        this.n = n;
+        this.m = -1;
+        this.edgeCount = -1;
+        this.line = 0;
+        this.firstLine = firstLine;
+        this.error = null;
+        this.map(start);
+        this.advance();
+    }
+
+    /**
+     * Reads header: the number of vertices and the number of edges.
+     *
+     * @throws Exception If the header is malformed.
+     */
+    public void readHeader() throws Exception {
+        this.readHeader(false);
+    }
+
+    /**
+     * Reads header, allowing more than Integer.MAX_VALUE edges: edgeCount
+     * holds their number, m is -1 if it does not fit an int.
+     *
+     * @throws Exception If the header is malformed.
+     */
+    public void readLongHeader() throws Exception {
+        this.readHeader(true);
+    }
+
+    /**
+     * Reads header.
+     */
+    private void readHeader(boolean longEdgeCount) throws Exception {
+        this.skipWhitespace();
+        if (!this.isDigitOrSign()) {
+            throw new Exception("Could not read number of vertices the graph has.");
+        }
+        this.n = this.readInt();
+        if (this.n < 0 || this.error != null) {
+            throw new Exception("Could not read number of vertices the graph has.");
+        }
+        this.skipWhitespace();
+        if (!this.isDigitOrSign()) {
+            throw new Exception("Could not read number of edges the graph has.");
+        }
+        this.edgeCount = longEdgeCount ? this.readLong() : this.readInt();
+        if (this.edgeCount < 0 || this.error != null) {
+            throw new Exception("Could not read number of edges the graph has.");
+        }
+        this.m = this.edgeCount <= Integer.MAX_VALUE ? (int) this.edgeCount : -1;
+        this.error = null;
+        this.skipLine();
+        this.line = 0;
+    }
+
+    /**
+     * Reads edge lines into arrays, vertices converted to 0 based.
+     *
+     * @param tails Where to store the first vertex of each edge.
+     * @param heads Where to store the second vertex of each edge.
+     * @param weights Where to store the cost of each edge.
+     * @param offset Array position of the first edge to store.
+     * @param count Maximum number of edges to read.
+     * @return The number of edges read, lower than count only at end of input.
+     * @throws Exception If a line is malformed.
+     */
+    public int readEdges(int[] tails, int[] heads, int[] weights, int offset, int count) throws Exception {
+        int i, vertex1, vertex2;
+        for (i = 0; i < count && this.c != -1; i++) {
+            vertex1 = this.readField("Could not read vertex 1") - 1;
+            vertex2 = this.readField("Could not read vertex 2") - 1;
+            weights[offset + i] = this.readField("Could not read weight");
+            if (vertex1 < 0 || vertex1 >= this.n) {
+                this.fail("Invalid vertex 1");
+            }
+            if (vertex2 < 0 || vertex2 >= this.n) {
+                this.fail("Invalid vertex 2");
+            }
+            tails[offset + i] = vertex1;
+            heads[offset + i] = vertex2;
+            this.skipLine();
+        }
+        return i;
+    }
+
+    /**
+     * Reads edge lines with 64 bit weights into arrays, vertices converted
+     * to 0 based.
+     *
+     * @param tails Where to store the first vertex of each edge.
+     * @param heads Where to store the second vertex of each edge.
+     * @param weights Where to store the cost of each edge.
+     * @param offset Array position of the first edge to store.
+     * @param count Maximum number of edges to read.
+     * @return The number of edges read, lower than count only at end of input.
+     * @throws Exception If a line is malformed.
+     */
+    public int readEdges(int[] tails, int[] heads, long[] weights, int offset, int count) throws Exception {
+        int i, vertex1, vertex2;
+        for (i = 0; i < count && this.c != -1; i++) {
+            vertex1 = this.readField("Could not read vertex 1") - 1;
+            vertex2 = this.readField("Could not read vertex 2") - 1;
+            this.skipBlanks("Could not read weight");
+            weights[offset + i] = this.readLong();
+            if (this.error != null) {
+                this.fail("Could not read weight");
+            }
+            if (vertex1 < 0 || vertex1 >= this.n) {
+                this.fail("Invalid vertex 1");
+            }
+            if (vertex2 < 0 || vertex2 >= this.n) {
+                this.fail("Invalid vertex 2");
+            }
+            tails[offset + i] = vertex1;
+            heads[offset + i] = vertex2;
+            this.skipLine();
+        }
+        return i;
+    }
+
+    /**
+     * Reads edge lines with floating point weights into arrays, vertices
+     * converted to 0 based. A weight is a decimal with an optional fraction
+     * and exponent, or inf / infinity with an optional sign, in any case.
+     * NaN is rejected; -0 is read as 0.
+     *
+     * @param tails Where to store the first vertex of each edge.
+     * @param heads Where to store the second vertex of each edge.
+     * @param weights Where to store the cost of each edge.
+     * @param offset Array position of the first edge to store.
+     * @param count Maximum number of edges to read.
+     * @return The number of edges read, lower than count only at end of input.
+     * @throws Exception If a line is malformed or a weight is NaN.
+     */
+    public int readEdges(int[] tails, int[] heads, double[] weights, int offset, int count) throws Exception {
+        int i, vertex1, vertex2;
+        double weight;
+        for (i = 0; i < count && this.c != -1; i++) {
+            vertex1 = this.readField("Could not read vertex 1") - 1;
+            vertex2 = this.readField("Could not read vertex 2") - 1;
+            this.skipBlanks("Could not read weight");
+            weight = this.readDouble();
+            if (this.error != null) {
+                this.fail("Could not read weight");
+            }
+            if (Double.isNaN(weight)) {
+                this.fail("NaN weight");
+            }
+            if (vertex1 < 0 || vertex1 >= this.n) {
+                this.fail("Invalid vertex 1");
+            }
+            if (vertex2 < 0 || vertex2 >= this.n) {
+                this.fail("Invalid vertex 2");
+            }
+            tails[offset + i] = vertex1;
+            heads[offset + i] = vertex2;
+            weights[offset + i] = weight;
+            this.skipLine();
+        }
+        return i;
+    }
+
+    /**
+     * Returns the file position of the next byte to parse.
+     *
+     * @return The file position.
+     */
+    public long position() {
+        return this.c == -1 ? this.end : this.bufferStart + this.buffer.position() - 1;
+    }
+
+    /**
+     * Closes the file if it was opened by this reader.
+     */
+    public void close() {
+        this.buffer = null;
+        if (this.fis != null) {
+            try {
+                this.fis.close();
+            } catch (Exception e) {
+            }
+            this.fis = null;
+        }
+    }
+
+    /**
+     * Reads one integer field of the current line.
+     *
+     * @param what What is read, used in the error message.
+     * @return The read integer.
+     * @throws Exception If the line has no more fields or the field is not an integer.
+     */
+    private int readField(String what) throws Exception {
+        this.skipBlanks(what);
+        int value = this.readInt();
+        if (this.error != null) {
+            this.fail(what);
+        }
+        return value;
+    }
+
+    /**
+     * Skips the blanks before a field of the current line.
+     *
+     * @param what What is read, used in the error message.
+     * @throws Exception If the line has no more fields.
+     */
+    private void skipBlanks(String what) throws Exception {
+        while (this.c == ' ' || this.c == '\t' || this.c == '\r' || this.c == '\f') {
+            this.advance();
+        }
+        if (this.c == '\n' || this.c == -1) {
+            this.fail(what);
+        }
+    }
+
+    /**
+     * Throws the error for the current line.
+     *
+     * @param what What could not be read.
+     * @throws Exception Always.
+     */
+    private void fail(String what) throws Exception {
+        this.error = what;
+        throw new Exception(what + " on line " + (this.firstLine + this.line + 1));
+    }
+
+    /**
+     * Parses an optionally signed decimal integer ending at whitespace or at
+     * end of input. Sets error if the token is not a valid int.
+     *
+     * @return The parsed integer.
+     */
+    private int readInt() throws Exception {
+        boolean negative = false;
+        long value = 0;
+        int digits = 0;
+        if (this.c == '-' || this.c == '+') {
+            negative = this.c == '-';
+            this.advance();
+        }
+        while (this.c >= '0' && this.c <= '9') {
+            value = value * 10 + (this.c - '0');
+            if (value > 2147483648L) {
+                this.error = "overflow";
+                return 0;
+            }
+            digits++;
+            this.advance();
+        }
+        if (digits == 0 || !(this.c == ' ' || this.c == '\t' || this.c == '\r' || this.c == '\f' || this.c == '\n' || this.c == -1)
+                || (!negative && value > Integer.MAX_VALUE)) {
+            this.error = "not an integer";
+            return 0;
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Parses an optionally signed decimal long ending at whitespace or at
+     * end of input. Sets error if the token is not a valid long. The value
+     * is gathered as a negative number, which reaches Long.MIN_VALUE.
+     *
+     * @return The parsed long.
+     */
+    private long readLong() throws Exception {
+        boolean negative = false;
+        long value = 0, limit;
+        int digits = 0, digit;
+        if (this.c == '-' || this.c == '+') {
+            negative = this.c == '-';
+            this.advance();
+        }
+        limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        while (this.c >= '0' && this.c <= '9') {
+            digit = this.c - '0';
+            if (value < limit / 10 || value * 10 < limit + digit) {
+                this.error = "overflow";
+                return 0;
+            }
+            value = value * 10 - digit;
+            digits++;
+            this.advance();
+        }
+        if (digits == 0 || !(this.c == ' ' || this.c == '\t' || this.c == '\r' || this.c == '\f' || this.c == '\n' || this.c == -1)) {
+            this.error = "not an integer";
+            return 0;
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Parses a decimal floating point number ending at whitespace or at end
+     * of input. Sets error if the token is not a number. Up to 18
+     * significant digits are gathered in a long; when they fit 53 bits and
+     * the decimal exponent is at most 22 in magnitude, one multiplication or
+     * division by an exact power of ten gives the correctly rounded double.
+     * Any other token is handed to Double.parseDouble.
+     *
+     * @return The parsed number, NaN for a nan token.
+     */
+    private double readDouble() throws Exception {
+        boolean negative = false, inexact = false;
+        long mantissa = 0;
+        int significant = 0, digits = 0, exponent = 0, exponentValue = 0, exponentDigits = 0;
+        this.tokenLength = 0;
+        if (this.c == '-' || this.c == '+') {
+            negative = this.c == '-';
+            this.keep();
+        }
+        if ((this.c | 0x20) == 'i' || (this.c | 0x20) == 'n') {
+            return this.readSpecial(negative);
+        }
+        while (this.c >= '0' && this.c <= '9') {
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (this.c - '0');
+                significant += mantissa == 0 ? 0 : 1;
+            } else {
+                exponent++; // the digit is dropped
+                inexact |= this.c != '0';
+            }
+            digits++;
+            this.keep();
+        }
+        if (this.c == '.') {
+            this.keep();
+            while (this.c >= '0' && this.c <= '9') {
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (this.c - '0');
+                    significant += mantissa == 0 ? 0 : 1;
+                    exponent--;
+                } else {
+                    inexact |= this.c != '0';
+                }
+                digits++;
+                this.keep();
+            }
+        }
+        if (digits > 0 && (this.c == 'e' || this.c == 'E')) {
+            boolean negativeExponent = false;
+            this.keep();
+            if (this.c == '-' || this.c == '+') {
+                negativeExponent = this.c == '-';
+                this.keep();
+            }
+            while (this.c >= '0' && this.c <= '9') {
+                if (exponentValue < 100000) {
+                    exponentValue = exponentValue * 10 + (this.c - '0');
+                }
+                exponentDigits++;
+                this.keep();
+            }
+            if (exponentDigits == 0) {
+                digits = 0;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (digits == 0 || !this.isDelimiter()) {
+            this.error = "not a number";
+            return 0;
+        }
+        if (mantissa == 0) {
+            return 0.0;
+        }
+        if (!inexact && mantissa < 1L << 53 && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(new String(this.token, 0, this.tokenLength, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Parses inf, infinity or nan, in any case, after the sign.
+     */
+    private double readSpecial(boolean negative) throws Exception {
+        int start = this.tokenLength;
+        while (this.c >= 'A' && this.c <= 'z') {
+            this.keep();
+        }
+        String word = new String(this.token, start, this.tokenLength - start, StandardCharsets.ISO_8859_1).toLowerCase();
+        if (!this.isDelimiter()) {
+            this.error = "not a number";
+            return 0;
+        } else if (word.equals("inf") || word.equals("infinity")) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        } else if (word.equals("nan")) {
+            return Double.NaN;
+        }
+        this.error = "not a number";
+        return 0;
+    }
+
+    /**
+     * Appends the current byte to the token and consumes it.
+     */
+    private void keep() throws Exception {
+        if (this.tokenLength == this.token.length) {
+            byte[] token = new byte[2 * this.token.length];
+            System.arraycopy(this.token, 0, token, 0, this.tokenLength);
+            this.token = token;
+        }
+        this.token[this.tokenLength++] = (byte) this.c;
+        this.advance();
+    }
+
+    /**
+     * Checks whether the current byte ends a field.
+     */
+    private boolean isDelimiter() {
+        return this.c == ' ' || this.c == '\t' || this.c == '\r' || this.c == '\f' || this.c == '\n' || this.c == -1;
+    }
+
+    /**
+     * Checks whether the current byte may start an integer.
+     */
+    private boolean isDigitOrSign() {
+        return (this.c >= '0' && this.c <= '9') || this.c == '-' || this.c == '+';
+    }
+
+    /**
+     * Skips whitespace, new lines included.
+     */
+    private void skipWhitespace() throws Exception {
+        while (this.c == ' ' || this.c == '\t' || this.c == '\r' || this.c == '\f' || this.c == '\n') {
+            this.advance();
+        }
+    }
+
+    /**
+     * Skips the rest of the current line and its new line.
+     */
+    private void skipLine() throws Exception {
+        while (this.c != '\n' && this.c != -1) {
+            this.advance();
+        }
+        if (this.c == '\n') {
+            this.advance();
+        }
+        this.line++;
+    }
+
+    /**
+     * Consumes the current byte, mapping the next window when needed.
+     */
+    private void advance() throws Exception {
+        if (!this.buffer.hasRemaining()) {
+            long next = this.bufferStart + this.buffer.limit();
+            if (next >= this.end) {
+                this.c = -1;
+                return;
+            }
+            this.map(next);
+        }
+        this.c = this.buffer.get() & 0xff;
+    }
+
+    /**
+     * Maps the window starting at a file position.
+     *
+     * @param position The file position.
+     */
+    private void map(long position) throws Exception {
+        this.bufferStart = position;
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, this.end - position));
+    }
+}
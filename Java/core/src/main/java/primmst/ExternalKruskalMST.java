@@ -0,0 +1,326 @@
+package primmst;
+
+/**
+ * Kruskal 's algorithm out of core, for graphs too large even for
+ * StreamingMST, which sorts the n - 1 edges of its forest again with every
+ * chunk and needs 24 bytes of arrays and sort scratch per forest edge: here
+ * the forest is only appended to. The text edge list is read
+ * in runs of runSize edges; each run is sorted by weight in memory and
+ * spilled to a temporary file, 12 bytes per edge, through a direct buffer.
+ * The runs are then merged k ways by a heap of run cursors, each reading its
+ * file through a direct buffer of its own, while the union find accepts the
+ * edges; the merge stops as soon as n - 1 edges are accepted, so the
+ * heaviest edges of a connected graph are never read back. A graph already
+ * loaded, like an OffHeapGraph, is cut into runs the same way.
+ *
+ * Memory is one run of edges with its sort scratch, 24 bytes per edge,
+ * mergeMemory bytes of direct buffers split among the runs, 64 MB or a
+ * quarter of the heap if less, and 17 bytes per vertex: 5 for the union
+ * find and 12 for the tree, whose n - 1 edges the MstResult holds. Self
+ * loops are dropped before spilling. An input that fits a single
+ * run is solved in memory without spilling. Spill files are deleted when
+ * the solve ends, failed or not.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ExternalKruskalMST {
+
+    public static final int DEFAULT_RUN_SIZE = 1 << 22; // edges sorted in memory at once
+    public static final int EDGE_SIZE = 12; // bytes of a spilled edge: tail, head and weight
+    public static final int BUFFER_SIZE = 1 << 20; // bytes of the direct buffer runs are written through
+    public static final long MERGE_MEMORY = 1L << 26; // bytes of direct buffers the merge splits among the runs
+    public static final int MIN_MERGE_BUFFER = 1 << 16; // bytes of a run 's buffer at least
+
+    public int runSize; // edges sorted in memory at once
+    public File tempDir; // where the runs are spilled, null for the default temporary directory
+    public long mergeMemory; // bytes of direct buffers the merge splits among the runs
+    public int runs; // runs spilled by the last solve
+    public long merged; // edges the last solve read back before the tree was complete
+
+    /**
+     * Constructor.
+     *
+     * @param runSize Number of edges sorted in memory at once.
+     * @param tempDir Where the runs are spilled, null for the default temporary directory.
+     * @throws Exception If the run size is not positive.
+     */
+    public ExternalKruskalMST(int runSize, File tempDir) throws Exception {
+        if (runSize < 1) {
+            throw new Exception("The run size must be positive.");
+        }
+        this.runSize = runSize;
+        this.tempDir = tempDir;
+        this.mergeMemory = Math.min(MERGE_MEMORY, Runtime.getRuntime().maxMemory() / 4); // direct memory is capped at the heap size by default
+    }
+
+    /**
+     * Computes the minimum spanning tree, or forest, of a text file into a
+     * result that is reset first.
+     *
+     * @param file The file where to read the graph from, in the text format.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the file is binary or malformed, or a run cannot be spilled.
+     */
+    public MstResult solve(String file, MstResult result) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            throw new Exception("The external engine reads text files only.");
+        }
+        List<File> spills = new ArrayList<File>();
+        EdgeListReader reader = new EdgeListReader(file);
+        try {
+            reader.readLongHeader();
+            int size = (int) Math.max(1, Math.min(this.runSize, reader.edgeCount)), read, m;
+            EdgeList run = new EdgeList(reader.n, 0, new int[size], new int[size], new int[size]);
+            ByteBuffer buffer = null;
+            long left = reader.edgeCount;
+            this.runs = 0;
+            this.merged = 0;
+            result.reset(reader.n);
+            while (left > 0) {
+                read = reader.readEdges(run.tails, run.heads, run.weights, 0, (int) Math.min(size, left));
+                if (read == 0) {
+                    throw new Exception("Could not read edge on line " + (reader.edgeCount - left + 1));
+                }
+                left -= read;
+                m = dropSelfLoops(run, read);
+                if (spills.isEmpty() && left == 0) { // the whole graph fits a run
+                    run.m = m;
+                    this.merged = m;
+                    return KruskalMST.kruskal(run, result);
+                }
+                buffer = this.spill(run, m, buffer, spills);
+            }
+            reader.close();
+            reader = null;
+            this.merge(spills, result);
+            return result;
+        } finally {
+            if (null != reader) {
+                reader.close();
+            }
+            for (File spill : spills) {
+                spill.delete();
+            }
+        }
+    }
+
+    /**
+     * Computes the minimum spanning tree, or forest, of a graph of any
+     * storage into a result that is reset first. The edges are taken from
+     * their lower end point in runs of runSize edges, so an OffHeapGraph is
+     * never copied onto the heap whole; a graph that fits a single run is
+     * solved in memory.
+     *
+     * @param graph The graph.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If a run cannot be spilled.
+     */
+    public MstResult solve(AdjacencyGraph graph, MstResult result) throws Exception {
+        List<File> spills = new ArrayList<File>();
+        try {
+            int n = graph.vertexCount(), size = (int) Math.max(1, Math.min(this.runSize, graph.edgeCount())), m = 0, v;
+            long j, last;
+            EdgeList run = new EdgeList(n, 0, new int[size], new int[size], new int[size]);
+            ByteBuffer buffer = null;
+            this.runs = 0;
+            this.merged = 0;
+            result.reset(n);
+            for (int u = 0; u < n; u++) {
+                last = graph.endEdge(u);
+                for (j = graph.firstEdge(u); j < last; j++) {
+                    v = graph.target(j);
+                    if (v > u) { // every edge once, self loops dropped
+                        if (m == size) {
+                            buffer = this.spill(run, m, buffer, spills);
+                            m = 0;
+                        }
+                        run.tails[m] = u;
+                        run.heads[m] = v;
+                        run.weights[m] = graph.weight(j);
+                        m++;
+                    }
+                }
+            }
+            if (spills.isEmpty()) { // the whole graph fits a run
+                run.m = m;
+                this.merged = m;
+                return KruskalMST.kruskal(run, result);
+            }
+            if (m > 0) {
+                this.spill(run, m, buffer, spills);
+            }
+            this.merge(spills, result);
+            return result;
+        } finally {
+            for (File spill : spills) {
+                spill.delete();
+            }
+        }
+    }
+
+    /**
+     * Moves the edges of a run that are not self loops to its front.
+     *
+     * @return Number of edges kept.
+     */
+    private static int dropSelfLoops(EdgeList run, int m) {
+        int kept = 0;
+        for (int i = 0; i < m; i++) {
+            if (run.tails[i] != run.heads[i]) {
+                run.tails[kept] = run.tails[i];
+                run.heads[kept] = run.heads[i];
+                run.weights[kept] = run.weights[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Sorts the first m edges of a run by weight and writes them to a new
+     * spill file, added to the spills.
+     *
+     * @return The buffer the run was written through, allocated on first use.
+     */
+    private ByteBuffer spill(EdgeList run, int m, ByteBuffer buffer, List<File> spills) throws Exception {
+        run.sortByWeight(0, m);
+        if (null == buffer) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE / EDGE_SIZE * EDGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        File spill = File.createTempFile("primmst-run", ".bin", this.tempDir);
+        spill.deleteOnExit();
+        spills.add(spill);
+        this.runs++;
+        FileOutputStream fos = new FileOutputStream(spill);
+        try {
+            FileChannel channel = fos.getChannel();
+            buffer.clear();
+            for (int i = 0; i < m; i++) {
+                if (buffer.remaining() < EDGE_SIZE) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putInt(run.tails[i]).putInt(run.heads[i]).putInt(run.weights[i]);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            fos.close();
+        }
+        return buffer;
+    }
+
+    /**
+     * Merges the sorted runs by weight, ties going to the earlier run, and
+     * runs the union find on the merged edges until the tree is complete.
+     */
+    private void merge(List<File> spills, MstResult result) throws Exception {
+        int k = spills.size(), size = 0, i, r;
+        int bufferSize = (int) Math.max(MIN_MERGE_BUFFER, Math.min(Integer.MAX_VALUE / 2, this.mergeMemory / Math.max(k, 1)));
+        FileInputStream[] streams = new FileInputStream[k];
+        FileChannel[] channels = new FileChannel[k];
+        ByteBuffer[] buffers = new ByteBuffer[k];
+        int[] tails = new int[k], heads = new int[k], weights = new int[k]; // key is the run, value is its current edge
+        int[] heap = new int[k]; // runs by their current edge
+        UnionFind components = new UnionFind(result.n);
+        try {
+            for (r = 0; r < k; r++) {
+                streams[r] = new FileInputStream(spills.get(r));
+                channels[r] = streams[r].getChannel();
+                buffers[r] = ByteBuffer.allocateDirect(bufferSize / EDGE_SIZE * EDGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                buffers[r].flip();
+                if (next(channels[r], buffers[r], tails, heads, weights, r)) {
+                    heap[size++] = r;
+                }
+            }
+            for (i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, size, i, weights);
+            }
+            while (size > 0 && result.edgeCount < result.n - 1) {
+                r = heap[0];
+                this.merged++;
+                if (components.union(tails[r], heads[r])) {
+                    result.addEdge(tails[r], heads[r], weights[r]);
+                }
+                if (!next(channels[r], buffers[r], tails, heads, weights, r)) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, size, 0, weights);
+            }
+        } finally {
+            for (r = 0; r < k; r++) {
+                if (null != streams[r]) {
+                    streams[r].close();
+                }
+            }
+        }
+        result.summarizeComponents();
+    }
+
+    /**
+     * Reads the next edge of a run into its current edge, refilling its
+     * buffer from the spill file when needed.
+     *
+     * @return False if the run is exhausted.
+     */
+    private static boolean next(FileChannel channel, ByteBuffer buffer, int[] tails, int[] heads, int[] weights, int r)
+            throws Exception {
+        if (buffer.remaining() < EDGE_SIZE) {
+            buffer.compact();
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+            }
+            buffer.flip();
+            if (buffer.remaining() < EDGE_SIZE) {
+                return false;
+            }
+        }
+        tails[r] = buffer.getInt();
+        heads[r] = buffer.getInt();
+        weights[r] = buffer.getInt();
+        return true;
+    }
+
+    /**
+     * Moves a run down the heap until its current edge is no heavier than
+     * those of its children; equal weights are ordered by run.
+     */
+    private static void siftDown(int[] heap, int size, int pos, int[] weights) {
+        int r = heap[pos], child;
+        while ((child = 2 * pos + 1) < size) {
+            if (child + 1 < size && less(heap[child + 1], heap[child], weights)) {
+                child++;
+            }
+            if (!less(heap[child], r, weights)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = r;
+    }
+
+    private static boolean less(int a, int b, int[] weights) {
+        return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+    }
+}
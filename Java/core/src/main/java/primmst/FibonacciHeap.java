@@ -0,0 +1,266 @@
+package primmst;
+
+/**
+ * Indexed Fibonacci heap over primitive arrays. Every vertex is a tree node
+ * in a circular doubly linked list of siblings (or of roots), with links to
+ * its parent and to one of its children. Decrease key is amortized O(1)
+ * through cascading cuts, which pays off on dense graphs.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class FibonacciHeap implements IndexedPriorityQueue {
+
+    public int min; // root with minimal key, -1 if heap is empty
+    public int size; // number of vertices in heap
+    public int[] keys; // key is the vertex, value is its key
+    public int[] parent; // key is the vertex, value is its parent or -1 for a root
+    public int[] child; // key is the vertex, value is one of its children
+    public int[] left; // key is the vertex, value is its left sibling
+    public int[] right; // key is the vertex, value is its right sibling
+    public int[] degree; // key is the vertex, value is its number of children
+    public boolean[] marked; // key is the vertex, value tells if it lost a child
+    public boolean[] inHeap; // key is the vertex, value tells if it is in heap
+    private int[] roots; // scratch list of roots used while consolidating
+    private int[] byDegree; // scratch table of roots by degree used while consolidating
+
+    /**
+     * Constructor.
+     *
+     * @param heapDimension Heap 's dimension, the vertices must be lower than it.
+     */
+    public FibonacciHeap(int heapDimension) {
+        this.min = -1;
+        this.size = 0;
+        this.keys = new int[heapDimension];
+        this.parent = new int[heapDimension];
+        this.child = new int[heapDimension];
+        this.left = new int[heapDimension];
+        this.right = new int[heapDimension];
+        this.degree = new int[heapDimension];
+        this.marked = new boolean[heapDimension];
+        this.inHeap = new boolean[heapDimension];
+        this.roots = new int[heapDimension];
+        this.byDegree = new int[64]; // degrees are bounded by log_phi(n) < 64
+    }
+
+    public void insert(int vertex, int key) throws Exception {
+        if (this.size == this.keys.length) {
+            throw new Exception("Heap overflow");
+        }
+        if (this.inHeap[vertex]) {
+            throw new Exception("Vertex already in heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
+        this.keys[vertex] = key;
+        this.parent[vertex] = -1;
+        this.child[vertex] = -1;
+        this.degree[vertex] = 0;
+        this.marked[vertex] = false;
+        this.inHeap[vertex] = true;
+        this.addRoot(vertex);
+        this.size++;
+    }
+
+    public int extractMin() throws Exception {
+        if (this.size == 0) {
+            throw new Exception("Empty heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
+        int vertex = this.min, c, next;
+
+        /* move the children of the minimum to the root list */
+        c = this.child[vertex];
+        if (c != -1) {
+            do {
+                next = this.right[c];
+                this.parent[c] = -1;
+                this.marked[c] = false;
+                this.left[c] = c;
+                this.right[c] = c;
+                this.addRoot(c);
+                c = next;
+            } while (c != this.child[vertex]);
+            this.child[vertex] = -1;
+        }
+
+        /* unlink the minimum from the root list */
+        if (this.right[vertex] == vertex) {
+            this.min = -1;
+        } else {
+            this.min = this.right[vertex];
+            this.unlink(vertex);
+            this.consolidate();
+        }
+        this.inHeap[vertex] = false;
+        this.size--;
+        return vertex;
+    }
+
+    public void decreaseKey(int vertex, int newKey) throws Exception {
+        if (!this.inHeap[vertex]) {
+            throw new Exception("Vertex not in heap");
+        }
+        if (newKey > this.keys[vertex]) {
+            throw new Exception("New key is greater than current key");
+        }
+        if (Stats.ENABLED) {
+            Stats.decreaseKeys++;
+        }
+        this.keys[vertex] = newKey;
+        int p = this.parent[vertex], pp;
+        if (p != -1 && this.keys[vertex] < this.keys[p]) {
+            this.cut(vertex, p);
+            /* cascading cut */
+            while ((pp = this.parent[p]) != -1) {
+                if (!this.marked[p]) {
+                    this.marked[p] = true;
+                    break;
+                }
+                this.cut(p, pp);
+                p = pp;
+            }
+        } else if (p == -1 && this.keys[vertex] < this.keys[this.min]) {
+            this.min = vertex;
+        }
+    }
+
+    public boolean contains(int vertex) {
+        return this.inHeap[vertex];
+    }
+
+    public int key(int vertex) {
+        return this.keys[vertex];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.inHeap.length; i++) {
+            this.inHeap[i] = false;
+        }
+        this.min = -1;
+        this.size = 0;
+    }
+
+    /**
+     * Adds a single node to the root list, updating the minimum.
+     *
+     * @param vertex The node to add.
+     */
+    private void addRoot(int vertex) {
+        if (this.min == -1) {
+            this.left[vertex] = vertex;
+            this.right[vertex] = vertex;
+            this.min = vertex;
+        } else {
+            this.left[vertex] = this.min;
+            this.right[vertex] = this.right[this.min];
+            this.left[this.right[this.min]] = vertex;
+            this.right[this.min] = vertex;
+            if (this.keys[vertex] < this.keys[this.min]) {
+                this.min = vertex;
+            }
+        }
+    }
+
+    /**
+     * Removes a node from its circular sibling list.
+     *
+     * @param vertex The node to remove.
+     */
+    private void unlink(int vertex) {
+        this.right[this.left[vertex]] = this.right[vertex];
+        this.left[this.right[vertex]] = this.left[vertex];
+        this.left[vertex] = vertex;
+        this.right[vertex] = vertex;
+    }
+
+    /**
+     * Cuts a node from its parent and moves it to the root list.
+     *
+     * @param vertex The node to cut.
+     * @param p Its parent.
+     */
+    private void cut(int vertex, int p) {
+        if (this.right[vertex] == vertex) {
+            this.child[p] = -1;
+        } else {
+            if (this.child[p] == vertex) {
+                this.child[p] = this.right[vertex];
+            }
+            this.unlink(vertex);
+        }
+        this.degree[p]--;
+        this.parent[vertex] = -1;
+        this.marked[vertex] = false;
+        this.addRoot(vertex);
+    }
+
+    /**
+     * Links roots of equal degree until all roots have distinct degrees, then
+     * rebuilds the root list and the minimum.
+     */
+    private void consolidate() {
+        int count = 0, r = this.min, x, y, aux, d, i;
+        do {
+            this.roots[count++] = r;
+            r = this.right[r];
+        } while (r != this.min);
+
+        for (i = 0; i < this.byDegree.length; i++) {
+            this.byDegree[i] = -1;
+        }
+        for (i = 0; i < count; i++) {
+            x = this.roots[i];
+            d = this.degree[x];
+            while ((y = this.byDegree[d]) != -1) {
+                if (this.keys[y] < this.keys[x]) {
+                    aux = x;
+                    x = y;
+                    y = aux;
+                }
+                /* make y a child of x */
+                this.unlink(y);
+                this.parent[y] = x;
+                this.marked[y] = false;
+                if (this.child[x] == -1) {
+                    this.child[x] = y;
+                } else {
+                    this.left[y] = this.child[x];
+                    this.right[y] = this.right[this.child[x]];
+                    this.left[this.right[this.child[x]]] = y;
+                    this.right[this.child[x]] = y;
+                }
+                this.degree[x]++;
+                this.byDegree[d] = -1;
+                d++;
+            }
+            this.byDegree[d] = x;
+        }
+
+        this.min = -1;
+        for (i = 0; i < this.byDegree.length; i++) {
+            if (this.byDegree[i] != -1) {
+                x = this.byDegree[i];
+                this.left[x] = x;
+                this.right[x] = x;
+                this.addRoot(x);
+            }
+        }
+    }
+}
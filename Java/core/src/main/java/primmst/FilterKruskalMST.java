@@ -0,0 +1,244 @@
+package primmst;
+
+/**
+ * Filter-Kruskal minimum spanning tree algorithm on a fork join pool. The
+ * edges are partitioned around a pivot weight; the light part is solved
+ * first, then the heavy part is filtered in parallel, dropping every edge
+ * whose end points the light part already connected, before it is solved
+ * in turn. On dense graphs most heavy edges are filtered out and never get
+ * sorted. Small parts are sorted and solved like in Kruskal 's algorithm.
+ *
+ * Only the filter passes run in parallel. The recursion itself runs on one
+ * thread of the pool: a heavy part can only be filtered once every lighter
+ * edge went through the union find, so the parts are solved in order of
+ * weight.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class FilterKruskalMST {
+
+    public static final int BASE_SIZE = 1 << 15; // parts this small are sorted directly
+    public static final int CHUNK_SIZE = 1 << 14; // edges filtered by one task
+
+    public EdgeList edges; // reordered and compacted in place
+    public int baseSize;
+    public UnionFind components;
+    public MstResult result; // the accepted edges
+
+    /**
+     * Constructor.
+     *
+     * @param edges The graph 's edges. They are reordered and partly
+     * overwritten while filtering.
+     * @param baseSize Parts of at most this many edges are sorted directly.
+     * @param result Where to store the tree, empty.
+     */
+    public FilterKruskalMST(EdgeList edges, int baseSize, MstResult result) {
+        this.edges = edges;
+        this.baseSize = Math.max(baseSize, 1);
+        this.components = new UnionFind(edges.n);
+        this.result = result;
+    }
+
+    /**
+     * Filter-Kruskal 's algorithm.
+     *
+     * @param edges The graph 's edges, reordered and overwritten.
+     * @param pool The pool to run on.
+     * @param result Where to store the tree, empty.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public static MstResult filterKruskal(EdgeList edges, ForkJoinPool pool, MstResult result) {
+        return new FilterKruskalMST(edges, BASE_SIZE, result).run(pool);
+    }
+
+    /**
+     * Solves all edges.
+     *
+     * @param pool The pool to run on.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public MstResult run(ForkJoinPool pool) {
+        pool.invoke(new SolveTask(this, 0, this.edges.m));
+        this.result.summarizeComponents();
+        return this.result;
+    }
+
+    /**
+     * Solves the edges from..to - 1, which are all heavier than the edges
+     * solved before.
+     */
+    private void solve(int from, int to) {
+        if (from >= to || this.result.edgeCount == this.edges.n - 1) {
+            return;
+        }
+        if (to - from <= this.baseSize) {
+            this.kruskal(from, to);
+            return;
+        }
+
+        int pivot = this.pivot(from, to), middle = this.partition(from, to, pivot, true);
+        if (middle == to) { // the pivot is the heaviest weight
+            middle = this.partition(from, to, pivot, false);
+            if (middle == from) { // all weights are equal
+                this.kruskal(from, to);
+                return;
+            }
+        }
+        this.solve(from, middle);
+        if (this.result.edgeCount < this.edges.n - 1) {
+            this.solve(middle, this.filter(middle, to));
+        }
+    }
+
+    /**
+     * Kruskal 's algorithm on the edges from..to - 1.
+     */
+    private void kruskal(int from, int to) {
+        this.edges.sortByWeight(from, to);
+        for (int i = from; i < to && this.result.edgeCount < this.edges.n - 1; i++) {
+            if (this.components.union(this.edges.tails[i], this.edges.heads[i])) {
+                this.result.addEdge(this.edges.tails[i], this.edges.heads[i], this.edges.weights[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the median of the first, middle and last weights.
+     */
+    private int pivot(int from, int to) {
+        int a = this.edges.weights[from], b = this.edges.weights[(from + to) >>> 1], c = this.edges.weights[to - 1];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Moves the edges lighter than the pivot, or not heavier if inclusive,
+     * before the others.
+     *
+     * @return The position of the first edge of the heavy part.
+     */
+    private int partition(int from, int to, int pivot, boolean inclusive) {
+        int[] tails = this.edges.tails, heads = this.edges.heads, weights = this.edges.weights;
+        int i = from, j = to - 1, aux;
+        while (true) {
+            while (i <= j && (inclusive ? weights[i] <= pivot : weights[i] < pivot)) {
+                i++;
+            }
+            while (i <= j && (inclusive ? weights[j] > pivot : weights[j] >= pivot)) {
+                j--;
+            }
+            if (i >= j) {
+                return i;
+            }
+            aux = tails[i]; tails[i] = tails[j]; tails[j] = aux;
+            aux = heads[i]; heads[i] = heads[j]; heads[j] = aux;
+            aux = weights[i]; weights[i] = weights[j]; weights[j] = aux;
+            i++;
+            j--;
+        }
+    }
+
+    /**
+     * Drops the edges from..to - 1 whose end points are already connected.
+     * The chunks are compacted in parallel, then moved next to each other.
+     *
+     * @return The position after the last kept edge.
+     */
+    private int filter(int from, int to) {
+        int chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE, pos = from, start, i;
+        int[] counts = new int[chunks];
+        new FilterTask(this, from, to, 0, chunks, counts).invoke();
+        for (i = 0; i < chunks; i++) {
+            start = from + i * CHUNK_SIZE;
+            if (pos != start) {
+                System.arraycopy(this.edges.tails, start, this.edges.tails, pos, counts[i]);
+                System.arraycopy(this.edges.heads, start, this.edges.heads, pos, counts[i]);
+                System.arraycopy(this.edges.weights, start, this.edges.weights, pos, counts[i]);
+            }
+            pos += counts[i];
+        }
+        return pos;
+    }
+
+    /**
+     * Compacts the kept edges of a chunk to its beginning. Chunks are
+     * filtered on many threads at once while no union happens, so the union
+     * find is only read, through root().
+     *
+     * @return The number of kept edges.
+     */
+    private int filterChunk(int from, int to) {
+        int[] tails = this.edges.tails, heads = this.edges.heads, weights = this.edges.weights;
+        int pos = from;
+        for (int i = from; i < to; i++) {
+            if (this.components.root(tails[i]) != this.components.root(heads[i])) {
+                tails[pos] = tails[i];
+                heads[pos] = heads[i];
+                weights[pos] = weights[i];
+                pos++;
+            }
+        }
+        return pos - from;
+    }
+
+    /**
+     * Task solving a range of edges.
+     */
+    private static class SolveTask extends RecursiveAction {
+
+        public FilterKruskalMST mst;
+        public int from;
+        public int to;
+
+        public SolveTask(FilterKruskalMST mst, int from, int to) {
+            this.mst = mst;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            this.mst.solve(this.from, this.to);
+        }
+    }
+
+    /**
+     * Task filtering a range of chunks.
+     */
+    private static class FilterTask extends RecursiveAction {
+
+        public FilterKruskalMST mst;
+        public int from; // first edge of the filtered range
+        public int to; // position after the last edge of the filtered range
+        public int firstChunk;
+        public int lastChunk; // position after the last chunk
+        public int[] counts; // key is the chunk, value is its number of kept edges
+
+        public FilterTask(FilterKruskalMST mst, int from, int to, int firstChunk, int lastChunk, int[] counts) {
+            this.mst = mst;
+            this.from = from;
+            this.to = to;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+            this.counts = counts;
+        }
+
+        protected void compute() {
+            if (this.lastChunk - this.firstChunk > 1) {
+                int middle = (this.firstChunk + this.lastChunk) >>> 1;
+                invokeAll(new FilterTask(this.mst, this.from, this.to, this.firstChunk, middle, this.counts),
+                        new FilterTask(this.mst, this.from, this.to, middle, this.lastChunk, this.counts));
+            } else if (this.lastChunk > this.firstChunk) {
+                int start = this.from + this.firstChunk * CHUNK_SIZE;
+                this.counts[this.firstChunk] = this.mst.filterChunk(start, Math.min(start + CHUNK_SIZE, this.to));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package primmst;
+
+/**
+ * Graph class. Stores the undirected graph in compressed sparse row form: the
+ * neighbours of vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1],
+ * with the matching edge costs at the same positions in weights. Every
+ * undirected edge is stored twice, once for each of its end points.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+public class Graph implements AdjacencyGraph {
+
+    public int n;
+    public int m;
+    public int[] offsets; // key is the vertex, value is its first position in targets / weights
+    public int[] targets; // head vertices, grouped by tail vertex
+    public int[] weights; // edge costs, parallel to targets
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param offsets Start position of each vertex 's neighbours, n + 1 entries.
+     * @param targets The head vertices, 2 * m entries.
+     * @param weights The edge costs, 2 * m entries.
+     */
+    public Graph(int n, int m, int[] offsets, int[] targets, int[] weights) {
+        this.n = n;
+        this.m = m;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns the number of neighbours a vertex has.
+     *
+     * @param vertex The vertex.
+     * @return The vertex 's degree.
+     */
+    public int degree(int vertex) {
+        return this.offsets[vertex + 1] - this.offsets[vertex];
+    }
+
+    public int vertexCount() {
+        return this.n;
+    }
+
+    public long edgeCount() {
+        return this.m;
+    }
+
+    public long firstEdge(int vertex) {
+        return this.offsets[vertex];
+    }
+
+    public long endEdge(int vertex) {
+        return this.offsets[vertex + 1];
+    }
+
+    public int target(long slot) {
+        return this.targets[(int) slot];
+    }
+
+    public int weight(long slot) {
+        return this.weights[(int) slot];
+    }
+}
@@ -0,0 +1,218 @@
+package primmst;
+
+/**
+ * Builds a CSR graph from a list of undirected edges. The edges are buffered
+ * in three primitive arrays sized from the edge count, then laid out by a
+ * counting pass and a prefix sum when the graph is built.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class GraphBuilder {
+
+    public static final int PARALLEL_THRESHOLD = 1 << 16; // edges handled by one task
+
+    public int n;
+    public int m;
+    public int edgeCount; // number of edges added so far
+    public int[] tails;
+    public int[] heads;
+    public int[] weights;
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     */
+    public GraphBuilder(int n, int m) {
+        this.n = n;
+        this.m = m;
+        this.edgeCount = 0;
+        this.tails = new int[m];
+        this.heads = new int[m];
+        this.weights = new int[m];
+    }
+
+    /**
+     * Adds an undirected edge.
+     *
+     * @param tail One end of the edge, 0 based.
+     * @param head The other end of the edge, 0 based.
+     * @param weight The edge cost.
+     * @throws Exception If more than m edges are added.
+     */
+    public void addEdge(int tail, int head, int weight) throws Exception {
+        if (this.edgeCount == this.m) {
+            throw new Exception("Too many edges");
+        }
+        this.tails[this.edgeCount] = tail;
+        this.heads[this.edgeCount] = head;
+        this.weights[this.edgeCount] = weight;
+        this.edgeCount++;
+    }
+
+    /**
+     * Builds the graph from the added edges.
+     *
+     * @return The built graph.
+     */
+    public Graph build() {
+        int[] offsets = new int[this.n + 1];
+        int[] targets = new int[2 * this.edgeCount];
+        int[] costs = new int[2 * this.edgeCount];
+        int i, pos;
+
+        /* count degrees, shifted by one so the prefix sum yields start positions */
+        for (i = 0; i < this.edgeCount; i++) {
+            offsets[this.tails[i] + 1]++;
+            offsets[this.heads[i] + 1]++; // graph is undirected
+        }
+        for (i = 0; i < this.n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        /* scatter the edges, using a copy of the offsets as write cursors */
+        int[] cursors = new int[this.n];
+        System.arraycopy(offsets, 0, cursors, 0, this.n);
+        for (i = 0; i < this.edgeCount; i++) {
+            pos = cursors[this.tails[i]]++;
+            targets[pos] = this.heads[i];
+            costs[pos] = this.weights[i];
+            pos = cursors[this.heads[i]]++;
+            targets[pos] = this.tails[i];
+            costs[pos] = this.weights[i];
+        }
+        return new Graph(this.n, this.edgeCount, offsets, targets, costs);
+    }
+
+    /**
+     * Builds the graph from the added edges on a fork join pool. The degrees
+     * are counted and the edge indexes scattered in parallel through atomic
+     * counters, into the targets array; each vertex 's slots are then sorted
+     * by edge index and turned into targets and costs, so a vertex 's
+     * neighbours come in the order of the edges, exactly as build() lays them
+     * out, whatever the number of threads.
+     *
+     * @param pool The pool to build on.
+     * @return The built graph.
+     */
+    public Graph build(ForkJoinPool pool) {
+        if (this.edgeCount < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            return this.build();
+        }
+        int[] offsets = new int[this.n + 1];
+        int[] targets = new int[2 * this.edgeCount];
+        int[] costs = new int[2 * this.edgeCount];
+
+        /* count degrees, shifted by one so the prefix sum yields start positions */
+        AtomicIntegerArray counters = new AtomicIntegerArray(this.n + 1);
+        pool.invoke(new EdgeTask(this, 0, this.edgeCount, counters, null));
+        for (int i = 0; i <= this.n; i++) {
+            offsets[i] = counters.get(i);
+        }
+        Arrays.parallelPrefix(offsets, Integer::sum);
+
+        /* scatter the edge indexes, using a copy of the offsets as write cursors */
+        counters = new AtomicIntegerArray(Arrays.copyOf(offsets, this.n));
+        pool.invoke(new EdgeTask(this, 0, this.edgeCount, counters, targets));
+
+        /* put every vertex 's slots in edge order, then replace the indexes by the edges */
+        pool.invoke(new VertexTask(this, 0, this.n, offsets, targets, costs));
+        return new Graph(this.n, this.edgeCount, offsets, targets, costs);
+    }
+
+    /**
+     * Task counting the degrees of, or scattering the indexes of, a range of
+     * edges.
+     */
+    private static class EdgeTask extends RecursiveAction {
+
+        public GraphBuilder builder;
+        public int from;
+        public int to;
+        public AtomicIntegerArray counters; // degrees while counting, write cursors while scattering
+        public int[] slots; // where the edge indexes are scattered to, null while counting
+
+        public EdgeTask(GraphBuilder builder, int from, int to, AtomicIntegerArray counters, int[] slots) {
+            this.builder = builder;
+            this.from = from;
+            this.to = to;
+            this.counters = counters;
+            this.slots = slots;
+        }
+
+        protected void compute() {
+            if (this.to - this.from > PARALLEL_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new EdgeTask(this.builder, this.from, middle, this.counters, this.slots),
+                        new EdgeTask(this.builder, middle, this.to, this.counters, this.slots));
+                return;
+            }
+            int[] tails = this.builder.tails, heads = this.builder.heads;
+            int i;
+            if (null == this.slots) {
+                for (i = this.from; i < this.to; i++) {
+                    this.counters.incrementAndGet(tails[i] + 1);
+                    this.counters.incrementAndGet(heads[i] + 1);
+                }
+            } else {
+                for (i = this.from; i < this.to; i++) {
+                    this.slots[this.counters.getAndIncrement(tails[i])] = i;
+                    this.slots[this.counters.getAndIncrement(heads[i])] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Task sorting the slots of a range of vertices by edge index and filling
+     * in their targets and costs. Ranges are split while they hold more than
+     * PARALLEL_THRESHOLD slots.
+     */
+    private static class VertexTask extends RecursiveAction {
+
+        public GraphBuilder builder;
+        public int from;
+        public int to;
+        public int[] offsets;
+        public int[] targets; // edge indexes on entry
+        public int[] costs;
+
+        public VertexTask(GraphBuilder builder, int from, int to, int[] offsets, int[] targets, int[] costs) {
+            this.builder = builder;
+            this.from = from;
+            this.to = to;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.costs = costs;
+        }
+
+        protected void compute() {
+            if (this.to - this.from > 1 && this.offsets[this.to] - this.offsets[this.from] > PARALLEL_THRESHOLD) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new VertexTask(this.builder, this.from, middle, this.offsets, this.targets, this.costs),
+                        new VertexTask(this.builder, middle, this.to, this.offsets, this.targets, this.costs));
+                return;
+            }
+            int[] tails = this.builder.tails, heads = this.builder.heads, weights = this.builder.weights;
+            int u, j, edge;
+            for (u = this.from; u < this.to; u++) {
+                Arrays.sort(this.targets, this.offsets[u], this.offsets[u + 1]);
+                for (j = this.offsets[u]; j < this.offsets[u + 1]; j++) {
+                    edge = this.targets[j];
+                    this.targets[j] = tails[edge] == u ? heads[edge] : tails[edge];
+                    this.costs[j] = weights[edge];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package primmst;
+
+/**
+ * Seeded generator of large synthetic graphs, streamed straight to disk in the
+ * text format of the in/ files or in the binary graph format. The edges are
+ * produced one at a time by next(), so memory does not grow with the number
+ * of edges: the text format needs none beyond a write buffer, the binary
+ * format needs two ints per vertex and generates the edges twice, once to
+ * count the degrees and once to scatter the edges into the mapped file.
+ * The same family, size, weight range and seed always give the same file.
+ *
+ * Families:
+ * gnm      m random edges between n vertices, self loops and parallel edges included
+ * grid     road like: the vertices fill the rows of a square grid, each joined to its
+ *          right and lower neighbours
+ * rmat     power law R-MAT graph of m edges with the usual 0.57, 0.19, 0.19, 0.05 split
+ * complete all n * (n - 1) / 2 edges
+ * With connected set, the first n - 1 edges of gnm and rmat join every
+ * vertex to a random lower vertex, so the graph has a spanning tree. Grid
+ * and complete graphs are connected already and are generated the same with
+ * or without it.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+public class GraphGenerator {
+
+    public static final String[] FAMILIES = {"gnm", "grid", "rmat", "complete"};
+    public static final double RMAT_A = 0.57, RMAT_B = 0.19, RMAT_C = 0.19; // d is the rest
+    public static final int WINDOW_SHIFT = 28; // binary files are mapped in windows of 256 MB
+
+    public String family;
+    public int n; // number of vertices
+    public long m; // number of edges
+    public int minWeight;
+    public int maxWeight;
+    public long seed;
+    public boolean connected;
+
+    /* the edge produced by the last call to next() */
+    public int tail;
+    public int head;
+    public int weight;
+
+    private SplittableRandom randomGenerator;
+    private long produced; // number of edges produced so far
+    private long treeEdges; // number of first edges that make the spanning tree of a connected gnm or rmat graph
+    private int columns; // grid width
+    private int rmatScale; // R-MAT picks vertices below 2 ^ rmatScale
+    private int u, v; // next pair of the complete graph, or next grid vertex and which of its edges comes next
+
+    /**
+     * Constructor. The number of edges is given for gnm and rmat only, grid
+     * and complete graphs have as many edges as their vertices call for.
+     *
+     * @param family One of FAMILIES.
+     * @param n Number of vertices.
+     * @param m Number of edges, for gnm and rmat.
+     * @param minWeight Smallest weight.
+     * @param maxWeight Largest weight.
+     * @param seed The random seed.
+     * @param connected Start gnm and rmat with a spanning tree.
+     * @throws Exception If the family is unknown or the sizes do not fit.
+     */
+    public GraphGenerator(String family, int n, long m, int minWeight, int maxWeight, long seed, boolean connected) throws Exception {
+        if (n < 1) {
+            throw new Exception("A graph needs at least one vertex.");
+        }
+        if (minWeight > maxWeight) {
+            throw new Exception("The smallest weight is greater than the largest weight.");
+        }
+        this.family = family;
+        this.n = n;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.seed = seed;
+        this.connected = connected;
+        if (family.equals("gnm") || family.equals("rmat")) {
+            if (m < 0) {
+                throw new Exception("The number of edges cannot be negative.");
+            }
+            if (connected && m < n - 1) {
+                throw new Exception("A connected graph of " + n + " vertices needs at least " + (n - 1) + " edges.");
+            }
+            this.m = m;
+            this.treeEdges = connected ? n - 1 : 0;
+        } else if (family.equals("grid")) {
+            this.columns = (int) Math.ceil(Math.sqrt(n));
+            // every row but the last is full, the last has n - (rows - 1) * columns vertices
+            this.m = n - (n + this.columns - 1) / this.columns + Math.max(0, n - this.columns);
+        } else if (family.equals("complete")) {
+            this.m = (long) n * (n - 1) / 2;
+        } else {
+            throw new Exception("Unknown graph family " + family + ".");
+        }
+        while ((1L << this.rmatScale) < n) {
+            this.rmatScale++;
+        }
+        this.reset();
+    }
+
+    /**
+     * Starts the edge sequence over.
+     */
+    public void reset() {
+        this.randomGenerator = new SplittableRandom(this.seed);
+        this.produced = 0;
+        this.u = 0;
+        this.v = 1;
+    }
+
+    /**
+     * Produces the next edge into tail, head and weight.
+     *
+     * @return False once all m edges were produced.
+     */
+    public boolean next() {
+        if (this.produced == this.m) {
+            return false;
+        }
+        if (this.produced < this.treeEdges) {
+            this.tail = (int) this.produced + 1;
+            this.head = this.randomGenerator.nextInt(this.tail);
+        } else if (this.family.equals("gnm")) {
+            this.tail = this.randomGenerator.nextInt(this.n);
+            this.head = this.randomGenerator.nextInt(this.n);
+        } else if (this.family.equals("rmat")) {
+            this.nextRmat();
+        } else if (this.family.equals("grid")) {
+            this.nextGrid();
+        } else {
+            this.tail = this.u;
+            this.head = this.v;
+            if (++this.v == this.n) {
+                this.u++;
+                this.v = this.u + 1;
+            }
+        }
+        this.weight = (int) (this.minWeight + this.randomGenerator.nextLong((long) this.maxWeight - this.minWeight + 1));
+        this.produced++;
+        return true;
+    }
+
+    /**
+     * Picks an R-MAT edge: one quadrant of the adjacency matrix per bit,
+     * retrying the edges that fall past the last vertex.
+     */
+    private void nextRmat() {
+        double p;
+        do {
+            this.tail = 0;
+            this.head = 0;
+            for (int bit = 0; bit < this.rmatScale; bit++) {
+                p = this.randomGenerator.nextDouble();
+                if (p >= RMAT_A + RMAT_B + RMAT_C) {
+                    this.tail |= 1 << bit;
+                    this.head |= 1 << bit;
+                } else if (p >= RMAT_A + RMAT_B) {
+                    this.tail |= 1 << bit;
+                } else if (p >= RMAT_A) {
+                    this.head |= 1 << bit;
+                }
+            }
+        } while (this.tail >= this.n || this.head >= this.n);
+    }
+
+    /**
+     * Picks the next grid edge: the right edge of a vertex, then its lower
+     * edge, vertex by vertex.
+     */
+    private void nextGrid() {
+        while (true) {
+            if (this.v == 1) { // right edge of u
+                this.v = 2;
+                if ((this.u + 1) % this.columns != 0 && this.u + 1 < this.n) {
+                    this.tail = this.u;
+                    this.head = this.u + 1;
+                    return;
+                }
+            }
+            this.v = 1; // lower edge of u, then go on with the next vertex
+            if (this.u + this.columns < this.n) {
+                this.tail = this.u;
+                this.head = this.u++ + this.columns;
+                return;
+            }
+            this.u++;
+        }
+    }
+
+    /**
+     * Writes the graph in the text format of the in/ files.
+     *
+     * @param file The file where to write the graph to.
+     * @throws Exception If the file cannot be written.
+     */
+    public void writeText(String file) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            MstWriter writer = new MstWriter(fos.getChannel());
+            this.reset();
+            writer.writeLine(this.n, this.m);
+            while (this.next()) {
+                writer.writeLine(this.tail + 1, this.head + 1, this.weight);
+            }
+            writer.flush();
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * Writes the graph in the binary graph format. The first pass counts the
+     * degrees, the second scatters each edge to the free slots of both its
+     * end points, straight into the mapped file.
+     *
+     * @param file The file where to write the graph to.
+     * @throws Exception If the graph is too large for the format or the file cannot be written.
+     */
+    public void writeBinary(String file) throws Exception {
+        if (this.m > Integer.MAX_VALUE / 2) {
+            throw new Exception("The binary graph format holds at most " + Integer.MAX_VALUE / 2 + " edges.");
+        }
+        int[] cursors = new int[this.n + 1]; // degrees, then offsets, then the next free slot of each vertex
+        this.reset();
+        while (this.next()) {
+            cursors[this.tail + 1]++;
+            cursors[this.head + 1]++;
+        }
+        for (int i = 0; i < this.n; i++) {
+            cursors[i + 1] += cursors[i];
+        }
+
+        long targetsStart = BinaryGraphFormat.HEADER_SIZE + 4L * (this.n + 1), weightsStart = targetsStart + 8 * this.m;
+        long size = weightsStart + 8 * this.m;
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = raf.getChannel();
+            channel.truncate(0);
+            raf.setLength(size);
+            MappedByteBuffer[] windows = new MappedByteBuffer[(int) ((size - 1 >> WINDOW_SHIFT) + 1)];
+            for (int i = 0; i < windows.length; i++) {
+                windows[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << WINDOW_SHIFT,
+                        Math.min(1L << WINDOW_SHIFT, size - ((long) i << WINDOW_SHIFT)));
+                windows[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            for (int i = 0; i <= this.n; i++) {
+                putInt(windows, BinaryGraphFormat.HEADER_SIZE + 4L * i, cursors[i]);
+            }
+            this.reset();
+            while (this.next()) {
+                putInt(windows, targetsStart + 4L * cursors[this.tail], this.head);
+                putInt(windows, weightsStart + 4L * cursors[this.tail]++, this.weight);
+                putInt(windows, targetsStart + 4L * cursors[this.head], this.tail);
+                putInt(windows, weightsStart + 4L * cursors[this.head]++, this.weight);
+            }
+            cursors = null;
+
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < windows.length; i++) {
+                ByteBuffer window = windows[i].duplicate();
+                if (i == 0) {
+                    window.position(BinaryGraphFormat.HEADER_SIZE);
+                }
+                crc.update(window);
+            }
+            windows[0].putInt(0, BinaryGraphFormat.MAGIC).putInt(4, BinaryGraphFormat.VERSION).putInt(8, this.n)
+                    .putInt(12, (int) this.m).putLong(16, crc.getValue());
+            for (int i = 0; i < windows.length; i++) {
+                windows[i].force();
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Writes an int at a file position, aligned on 4 bytes, through the windows.
+     */
+    private static void putInt(MappedByteBuffer[] windows, long pos, int value) {
+        windows[(int) (pos >> WINDOW_SHIFT)].putInt((int) (pos & ((1 << WINDOW_SHIFT) - 1)), value);
+    }
+}
@@ -0,0 +1,72 @@
+package primmst;
+
+/**
+ * Loads a graph file in any supported format: the binary graph format, or the
+ * text format of the in/ files, which is parsed in parallel when the file is
+ * large enough and the pool has more than one thread.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+public class GraphLoader {
+
+    /**
+     * Reads graph from file.
+     *
+     * @param file The file where to read the graph from.
+     * @return The read graph.
+     * @throws Exception
+     */
+    public static Graph load(String file) throws Exception {
+        return load(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads graph from file, either in binary format or in text format,
+     * parsing large text files in parallel.
+     *
+     * @param file The file where to read the graph from.
+     * @param pool The pool to parse large files on.
+     * @return The read graph.
+     * @throws Exception
+     */
+    public static Graph load(String file, ForkJoinPool pool) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            long start = Stats.start();
+            try {
+                return BinaryGraphFormat.read(file); // already adjacency lists, all of it is parsing
+            } finally {
+                Stats.end(Stats.PARSE, start);
+            }
+        }
+        if (pool.getParallelism() > 1 && new File(file).length() >= 2 * ParallelEdgeListLoader.MIN_RANGE_SIZE) {
+            return ParallelEdgeListLoader.load(file, pool);
+        }
+        long start = Stats.start();
+        EdgeListReader reader = new EdgeListReader(file);
+        GraphBuilder builder;
+        try {
+            reader.readHeader();
+            builder = new GraphBuilder(reader.n, reader.m);
+            builder.edgeCount = reader.readEdges(builder.tails, builder.heads, builder.weights, 0, reader.m);
+            if (builder.edgeCount < reader.m) {
+                throw new Exception("Could not read edge on line " + (builder.edgeCount + 1));
+            }
+        } finally {
+            reader.close();
+        }
+        start = Stats.lap(Stats.PARSE, start);
+        try {
+            return builder.build();
+        } finally {
+            Stats.end(Stats.BUILD, start);
+        }
+    }
+}
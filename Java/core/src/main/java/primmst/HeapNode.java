@@ -1,3 +1,5 @@
+package primmst;
+
 /**
  * Heap element.
  *
@@ -0,0 +1,78 @@
+package primmst;
+
+/**
+ * Indexed min priority queue over the vertices 0 .. capacity - 1, each vertex
+ * having an int key. It is the heap interface Prim 's algorithm relies on, so
+ * heap strategies can be swapped without touching the algorithm.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public interface IndexedPriorityQueue {
+
+    /**
+     * Inserts a vertex.
+     *
+     * @param vertex The vertex to insert.
+     * @param key The vertex 's key.
+     * @throws Exception If the queue is full or the vertex is already in it.
+     */
+    void insert(int vertex, int key) throws Exception;
+
+    /**
+     * Extracts the vertex with minimal key. Its key stays readable through
+     * key() afterwards.
+     *
+     * @return The vertex with minimal key.
+     * @throws Exception If the queue is empty.
+     */
+    int extractMin() throws Exception;
+
+    /**
+     * Lowers the key of a vertex in the queue.
+     *
+     * @param vertex The vertex.
+     * @param newKey The new key, not greater than the current one.
+     * @throws Exception If the vertex is not in the queue or the key would grow.
+     */
+    void decreaseKey(int vertex, int newKey) throws Exception;
+
+    /**
+     * Checks whether a vertex is in the queue.
+     *
+     * @param vertex The vertex.
+     * @return True if the vertex is in the queue.
+     */
+    boolean contains(int vertex);
+
+    /**
+     * Returns the key of a vertex, whether it is still in the queue or was extracted.
+     *
+     * @param vertex The vertex.
+     * @return The vertex 's key.
+     */
+    int key(int vertex);
+
+    /**
+     * Returns the number of vertices in the queue.
+     *
+     * @return Queue 's size.
+     */
+    int size();
+
+    /**
+     * Returns the number of vertices the queue was built for.
+     *
+     * @return Queue 's capacity.
+     */
+    int capacity();
+
+    /**
+     * Removes all vertices, so the queue can be reused.
+     */
+    void clear();
+}
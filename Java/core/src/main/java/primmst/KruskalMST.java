@@ -0,0 +1,84 @@
+package primmst;
+
+/**
+ * Kruskal 's minimum spanning tree algorithm in O(m + n log n) after a radix
+ * sort of the edges by weight. Well suited for sparse graphs.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class KruskalMST {
+
+    /**
+     * Kruskal 's algorithm. Sorts the edges, then accepts every edge joining
+     * two different components, stopping once n - 1 edges are accepted.
+     *
+     * @param edges The graph 's edges, sorted in place.
+     * @param result Where to store the tree, empty.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public static MstResult kruskal(EdgeList edges, MstResult result) {
+        edges.sortByWeight();
+        UnionFind components = new UnionFind(edges.n);
+        for (int i = 0; i < edges.m && result.edgeCount < edges.n - 1; i++) {
+            if (Stats.ENABLED) {
+                Stats.edgesScanned++;
+            }
+            if (components.union(edges.tails[i], edges.heads[i])) {
+                result.addEdge(edges.tails[i], edges.heads[i], edges.weights[i]);
+            }
+        }
+        result.summarizeComponents();
+        return result;
+    }
+
+    /**
+     * Kruskal 's algorithm on edges with 64 bit weights.
+     *
+     * @param edges The graph 's edges, sorted in place.
+     * @param result Where to store the tree, empty.
+     * @return The result, holding the minimum spanning tree.
+     * @throws Exception If the cost of the tree does not fit 64 bits.
+     */
+    public static LongMstResult kruskal(LongEdgeList edges, LongMstResult result) throws Exception {
+        edges.sortByWeight();
+        UnionFind components = new UnionFind(edges.n);
+        for (int i = 0; i < edges.m && result.edgeCount < edges.n - 1; i++) {
+            if (Stats.ENABLED) {
+                Stats.edgesScanned++;
+            }
+            if (components.union(edges.tails[i], edges.heads[i])) {
+                result.addEdge(edges.tails[i], edges.heads[i], edges.weights[i]);
+            }
+        }
+        result.summarizeComponents();
+        return result;
+    }
+
+    /**
+     * Kruskal 's algorithm on edges with floating point weights. The sort is
+     * stable, so edges of equal weight are taken in edge list order.
+     *
+     * @param edges The graph 's edges, sorted in place.
+     * @param result Where to store the tree, empty.
+     * @return The result, holding the minimum spanning tree.
+     */
+    public static DoubleMstResult kruskal(DoubleEdgeList edges, DoubleMstResult result) {
+        edges.sortByWeight();
+        UnionFind components = new UnionFind(edges.n);
+        for (int i = 0; i < edges.m && result.edgeCount < edges.n - 1; i++) {
+            if (Stats.ENABLED) {
+                Stats.edgesScanned++;
+            }
+            if (components.union(edges.tails[i], edges.heads[i])) {
+                result.addEdge(edges.tails[i], edges.heads[i], edges.weights[i]);
+            }
+        }
+        result.summarizeComponents();
+        return result;
+    }
+}
@@ -0,0 +1,150 @@
+package primmst;
+
+/**
+ * Lazy Prim 's algorithm, the edge heap version: instead of decreasing the
+ * key of a vertex in place, a relaxation inserts a new (weight, vertex)
+ * entry into a PackedMinHeap and leaves the old one behind. An entry is
+ * stale when its vertex is already in the tree by the time it is extracted,
+ * and is skipped. The heap needs no position map and no deletes, so every
+ * heap operation is a sift over one long array.
+ *
+ * A vertex 's cheapest known edge is kept in keys and tails, and an entry is
+ * inserted only when it beats that edge; the entries of a vertex then have
+ * distinct weights and its cheapest one, the last inserted, is the first
+ * extracted. The heap holds at most one entry per relaxation, fewer than m,
+ * and extract-mins exceed n by the stale entries. On sparse graphs with few
+ * relaxations that costs less than keeping a position map current.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class LazyPrimMST {
+
+    /**
+     * Lazy Prim 's algorithm on a Graph, reading its arrays directly.
+     *
+     * @param graph The graph.
+     * @param heap Heap to insert the entries into, empty; it grows as needed.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param keys Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails.
+     */
+    public static MstResult prim(Graph graph, PackedMinHeap heap, MstResult result, boolean[] visited, int[] keys,
+            int[] tails) throws Exception {
+        int u, v, w, last;
+        for (int i = 0; i < graph.n; i++) {
+            visited[i] = false;
+            tails[i] = -1;
+        }
+        for (int s = 0; s < graph.n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            result.startComponent(); // the lowest vertex not in the tree starts a component
+            u = s;
+            while (u != -1) {
+                visited[u] = true;
+                last = graph.offsets[u + 1];
+                if (Stats.ENABLED) {
+                    Stats.edgesScanned += last - graph.offsets[u];
+                }
+                for (int j = graph.offsets[u]; j < last; j++) {
+                    v = graph.targets[j];
+                    w = graph.weights[j];
+                    if (!visited[v] && (w < keys[v] || tails[v] == -1)) {
+                        keys[v] = w;
+                        tails[v] = u;
+                        heap.insert(PackedMinHeap.pack(w, v));
+                        if (Stats.ENABLED) {
+                            Stats.edgesRelaxed++;
+                        }
+                    }
+                }
+                u = next(heap, visited);
+                if (u != -1) {
+                    result.addEdge(tails[u], u, keys[u]);
+                    result.componentCosts[result.components - 1] += keys[u];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lazy Prim 's algorithm on any graph storage, like an OffHeapGraph. The
+     * same as prim() on a Graph, through AdjacencyGraph 's methods.
+     *
+     * @param graph The graph.
+     * @param heap Heap to insert the entries into, empty; it grows as needed.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param keys Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails.
+     */
+    public static MstResult prim(AdjacencyGraph graph, PackedMinHeap heap, MstResult result, boolean[] visited,
+            int[] keys, int[] tails) throws Exception {
+        int n = graph.vertexCount(), u, v, w;
+        long last;
+        for (int i = 0; i < n; i++) {
+            visited[i] = false;
+            tails[i] = -1;
+        }
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            result.startComponent();
+            u = s;
+            while (u != -1) {
+                visited[u] = true;
+                last = graph.endEdge(u);
+                if (Stats.ENABLED) {
+                    Stats.edgesScanned += last - graph.firstEdge(u);
+                }
+                for (long j = graph.firstEdge(u); j < last; j++) {
+                    v = graph.target(j);
+                    w = graph.weight(j);
+                    if (!visited[v] && (w < keys[v] || tails[v] == -1)) {
+                        keys[v] = w;
+                        tails[v] = u;
+                        heap.insert(PackedMinHeap.pack(w, v));
+                        if (Stats.ENABLED) {
+                            Stats.edgesRelaxed++;
+                        }
+                    }
+                }
+                u = next(heap, visited);
+                if (u != -1) {
+                    result.addEdge(tails[u], u, keys[u]);
+                    result.componentCosts[result.components - 1] += keys[u];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Extracts entries until one holds a vertex not in the tree yet.
+     *
+     * @return The vertex, -1 if the heap ran empty.
+     */
+    private static int next(PackedMinHeap heap, boolean[] visited) throws Exception {
+        int v;
+        while (heap.size() > 0) {
+            v = PackedMinHeap.vertex(heap.extractMin());
+            if (!visited[v]) {
+                return v;
+            }
+        }
+        return -1;
+    }
+}
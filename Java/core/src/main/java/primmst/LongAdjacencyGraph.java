@@ -0,0 +1,47 @@
+package primmst;
+
+/**
+ * Read access to an undirected graph with 64 bit edge costs, laid out like an
+ * AdjacencyGraph. It is a separate interface rather than a generic one so
+ * that both weight types stay primitive and the int path keeps its speed.
+ * Vertices stay int, since every per vertex array is a Java array; slots are
+ * long so that a graph may hold more than 2^31 of them.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+public interface LongAdjacencyGraph {
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int vertexCount();
+
+    /**
+     * Returns the number of undirected edges.
+     */
+    public long edgeCount();
+
+    /**
+     * Returns the first slot of a vertex.
+     */
+    public long firstEdge(int vertex);
+
+    /**
+     * Returns the slot after the last slot of a vertex.
+     */
+    public long endEdge(int vertex);
+
+    /**
+     * Returns the neighbour in a slot.
+     */
+    public int target(long slot);
+
+    /**
+     * Returns the cost of the edge in a slot.
+     */
+    public long weight(long slot);
+}
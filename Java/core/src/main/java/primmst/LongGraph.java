@@ -0,0 +1,156 @@
+package primmst;
+
+/**
+ * Graph with 64 bit edge costs, stored in compressed sparse row form like
+ * Graph: the neighbours of vertex v are targets[offsets[v]] ..
+ * targets[offsets[v + 1] - 1], with the matching edge costs at the same
+ * positions in weights. Its arrays are Java arrays, so it holds at most
+ * Integer.MAX_VALUE / 2 edges; LongOffHeapGraph holds more.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class LongGraph implements LongAdjacencyGraph {
+
+    public static final int MAX_EDGES = Integer.MAX_VALUE / 2;
+
+    public int n;
+    public int m;
+    public int[] offsets; // key is the vertex, value is its first position in targets / weights
+    public int[] targets; // head vertices, grouped by tail vertex
+    public long[] weights; // edge costs, parallel to targets
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param offsets Start position of each vertex 's neighbours, n + 1 entries.
+     * @param targets The head vertices, 2 * m entries.
+     * @param weights The edge costs, 2 * m entries.
+     */
+    public LongGraph(int n, int m, int[] offsets, int[] targets, long[] weights) {
+        this.n = n;
+        this.m = m;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Reads graph from file, either in text format with weights of up to
+     * 64 bits or in binary format, whose int weights are widened.
+     *
+     * @param file The file where to read the graph from.
+     * @return The read graph.
+     * @throws Exception If the file is malformed or the graph is too large.
+     */
+    public static LongGraph load(String file) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            return widen(BinaryGraphFormat.read(file));
+        }
+        EdgeListReader reader = new EdgeListReader(file);
+        int[] tails, heads;
+        long[] weights;
+        int read;
+        try {
+            reader.readLongHeader();
+            if (reader.edgeCount > MAX_EDGES) {
+                throw new Exception("Too many edges for an on heap graph, use -offheap.");
+            }
+            tails = new int[reader.m];
+            heads = new int[reader.m];
+            weights = new long[reader.m];
+            read = reader.readEdges(tails, heads, weights, 0, reader.m);
+            if (read < reader.m) {
+                throw new Exception("Could not read edge on line " + (read + 1));
+            }
+        } finally {
+            reader.close();
+        }
+        return build(reader.n, reader.m, tails, heads, weights);
+    }
+
+    /**
+     * Builds a graph from a list of undirected edges, by a counting pass and
+     * a prefix sum.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param tails One end of each edge.
+     * @param heads The other end of each edge.
+     * @param weights The cost of each edge.
+     * @return The built graph.
+     */
+    public static LongGraph build(int n, int m, int[] tails, int[] heads, long[] weights) {
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[2 * m];
+        long[] costs = new long[2 * m];
+        int i, pos;
+
+        /* count degrees, shifted by one so the prefix sum yields start positions */
+        for (i = 0; i < m; i++) {
+            offsets[tails[i] + 1]++;
+            offsets[heads[i] + 1]++; // graph is undirected
+        }
+        for (i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        /* scatter the edges, using a copy of the offsets as write cursors */
+        int[] cursors = new int[n];
+        System.arraycopy(offsets, 0, cursors, 0, n);
+        for (i = 0; i < m; i++) {
+            pos = cursors[tails[i]]++;
+            targets[pos] = heads[i];
+            costs[pos] = weights[i];
+            pos = cursors[heads[i]]++;
+            targets[pos] = tails[i];
+            costs[pos] = weights[i];
+        }
+        return new LongGraph(n, m, offsets, targets, costs);
+    }
+
+    /**
+     * Copies a graph with int weights into one with long weights, sharing
+     * its offsets and targets.
+     *
+     * @param graph The graph.
+     * @return The widened graph.
+     */
+    public static LongGraph widen(Graph graph) {
+        long[] weights = new long[graph.weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = graph.weights[i];
+        }
+        return new LongGraph(graph.n, graph.m, graph.offsets, graph.targets, weights);
+    }
+
+    public int vertexCount() {
+        return this.n;
+    }
+
+    public long edgeCount() {
+        return this.m;
+    }
+
+    public long firstEdge(int vertex) {
+        return this.offsets[vertex];
+    }
+
+    public long endEdge(int vertex) {
+        return this.offsets[vertex + 1];
+    }
+
+    public int target(long slot) {
+        return this.targets[(int) slot];
+    }
+
+    public long weight(long slot) {
+        return this.weights[(int) slot];
+    }
+}
@@ -0,0 +1,208 @@
+package primmst;
+
+/**
+ * Indexed binary min heap with long keys, for Prim 's algorithm on graphs
+ * with 64 bit weights. The same as IndexedMinHeap with the keys widened; it
+ * is a class of its own so that IndexedMinHeap keeps int keys.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class LongIndexedMinHeap {
+
+    public int lastFreePos; // last free position in heap
+    public int[] vertices; // heap 's elements, key is the position, value is the vertex
+    public long[] keys; // key is the vertex, value is its key
+    public int[] positions; // key is the vertex, value is position in vertices
+
+    /**
+     * Constructor.
+     *
+     * @param heapDimension Heap 's dimension, the vertices must be lower than it.
+     */
+    public LongIndexedMinHeap(int heapDimension) {
+        this.lastFreePos = 0;
+        this.vertices = new int[heapDimension];
+        this.keys = new long[heapDimension];
+        this.positions = new int[heapDimension];
+        for (int i = 0; i < heapDimension; i++) {
+            this.positions[i] = -1;
+        }
+    }
+
+    /**
+     * Inserts a vertex into heap.
+     *
+     * @param vertex The vertex to insert.
+     * @param key The vertex 's key.
+     * @throws Exception If heap is full or the vertex is already in heap.
+     */
+    public void insert(int vertex, long key) throws Exception {
+        if (this.lastFreePos == this.vertices.length) {
+            throw new Exception("Heap overflow");
+        }
+        if (this.positions[vertex] != -1) {
+            throw new Exception("Vertex already in heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
+        this.keys[vertex] = key;
+        this.siftUp(vertex, this.lastFreePos);
+        this.lastFreePos++;
+    }
+
+    /**
+     * Extracts the vertex with minimal key. Its key stays readable through
+     * key() afterwards.
+     *
+     * @return The vertex with minimal key.
+     * @throws Exception If heap is empty.
+     */
+    public int extractMin() throws Exception {
+        if (this.lastFreePos == 0) {
+            throw new Exception("Empty heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
+        int vertex = this.vertices[0];
+        this.positions[vertex] = -1;
+        this.lastFreePos--;
+        if (this.lastFreePos > 0) {
+            this.siftDown(this.vertices[this.lastFreePos], 0);
+        }
+        return vertex;
+    }
+
+    /**
+     * Lowers the key of a vertex already in heap.
+     *
+     * @param vertex The vertex.
+     * @param newKey The new key, not greater than the current one.
+     * @throws Exception If the vertex is not in heap or the key would grow.
+     */
+    public void decreaseKey(int vertex, long newKey) throws Exception {
+        int pos = this.positions[vertex];
+        if (pos == -1) {
+            throw new Exception("Vertex not in heap");
+        }
+        if (newKey > this.keys[vertex]) {
+            throw new Exception("New key is greater than current key");
+        }
+        if (Stats.ENABLED) {
+            Stats.decreaseKeys++;
+        }
+        this.keys[vertex] = newKey;
+        this.siftUp(vertex, pos);
+    }
+
+    /**
+     * Checks whether a vertex is in heap.
+     *
+     * @param vertex The vertex.
+     * @return True if the vertex is in heap.
+     */
+    public boolean contains(int vertex) {
+        return this.positions[vertex] != -1;
+    }
+
+    /**
+     * Returns the key of a vertex, whether it is still in heap or was extracted.
+     *
+     * @param vertex The vertex.
+     * @return The vertex 's key.
+     */
+    public long key(int vertex) {
+        return this.keys[vertex];
+    }
+
+    /**
+     * Returns the number of vertices in heap.
+     *
+     * @return Heap 's size.
+     */
+    public int size() {
+        return this.lastFreePos;
+    }
+
+    /**
+     * Returns the number of vertices the heap was built for.
+     *
+     * @return Heap 's dimension.
+     */
+    public int capacity() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Removes all vertices, so the heap can be reused.
+     */
+    public void clear() {
+        for (int i = 0; i < this.lastFreePos; i++) {
+            this.positions[this.vertices[i]] = -1;
+        }
+        this.lastFreePos = 0;
+    }
+
+    /**
+     * Moves a vertex up from a position until its parent is not greater. The
+     * parents are shifted down into the hole instead of being swapped.
+     *
+     * @param vertex The vertex to place.
+     * @param pos The position to start from.
+     */
+    private void siftUp(int vertex, int pos) {
+        long key = this.keys[vertex];
+        int parentPos, parent;
+        while (pos > 0) {
+            parentPos = (pos - 1) >>> 1;
+            parent = this.vertices[parentPos];
+            if (this.keys[parent] <= key) {
+                break;
+            }
+            this.vertices[pos] = parent;
+            this.positions[parent] = pos;
+            pos = parentPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.vertices[pos] = vertex;
+        this.positions[vertex] = pos;
+    }
+
+    /**
+     * Moves a vertex down from a position until no child is smaller. The
+     * smaller children are shifted up into the hole instead of being swapped.
+     *
+     * @param vertex The vertex to place.
+     * @param pos The position to start from.
+     */
+    private void siftDown(int vertex, int pos) {
+        long key = this.keys[vertex];
+        int childPos, child;
+        while ((childPos = 2 * pos + 1) < this.lastFreePos) {
+            child = this.vertices[childPos];
+            if (childPos + 1 < this.lastFreePos && this.keys[this.vertices[childPos + 1]] < this.keys[child]) {
+                childPos++;
+                child = this.vertices[childPos];
+            }
+            if (key <= this.keys[child]) {
+                break;
+            }
+            this.vertices[pos] = child;
+            this.positions[child] = pos;
+            pos = childPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.vertices[pos] = vertex;
+        this.positions[vertex] = pos;
+    }
+}
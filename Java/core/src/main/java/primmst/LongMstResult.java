@@ -0,0 +1,84 @@
+package primmst;
+
+/**
+ * Minimum spanning tree, or forest, of a graph with 64 bit weights. The edge
+ * costs are kept in longWeights instead of weights, and read through
+ * weightOf(); the overall and the component costs are summed with overflow
+ * checks, so a tree whose cost does not fit a long fails instead of printing
+ * a wrong total.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class LongMstResult extends MstResult {
+
+    protected long[] longWeights; // the cost of each tree edge
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public LongMstResult(int n) {
+        super(n);
+    }
+
+    /**
+     * Removes all edges and makes room for the tree of a graph with n
+     * vertices, keeping the arrays if they are large enough.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public void reset(int n) {
+        this.n = n;
+        if (null == this.tails || this.tails.length < n - 1) {
+            this.tails = new int[Math.max(n - 1, 0)];
+            this.heads = new int[Math.max(n - 1, 0)];
+            this.longWeights = new long[Math.max(n - 1, 0)];
+            this.weights = new int[0];
+        }
+        this.clear();
+    }
+
+    public long weightOf(int edge) {
+        return this.longWeights[edge];
+    }
+
+    /**
+     * Adds a tree edge with an int cost.
+     */
+    public void addEdge(int tail, int head, int weight) {
+        this.put(tail, head, weight);
+    }
+
+    /**
+     * Adds a tree edge.
+     *
+     * @param tail One end of the edge.
+     * @param head The other end of the edge.
+     * @param weight The edge cost.
+     * @throws Exception If the overall cost overflows a long.
+     */
+    public void addEdge(int tail, int head, long weight) throws Exception {
+        try {
+            this.put(tail, head, weight);
+        } catch (ArithmeticException ex) {
+            throw new Exception("The cost of the tree does not fit 64 bits.");
+        }
+    }
+
+    /**
+     * Stores a tree edge, adding its cost with an overflow check.
+     */
+    private void put(int tail, int head, long weight) {
+        this.cost = Math.addExact(this.cost, weight);
+        this.tails[this.edgeCount] = tail;
+        this.heads[this.edgeCount] = head;
+        this.longWeights[this.edgeCount] = weight;
+        this.edgeCount++;
+    }
+}
@@ -0,0 +1,90 @@
+package primmst;
+
+/**
+ * Graph with 64 bit edge costs kept outside the Java heap, the long weight
+ * twin of OffHeapGraph. Its storage file, laid out as told in OffHeapStorage,
+ * has the magic "PMSL" and long weights.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class LongOffHeapGraph extends OffHeapStorage implements LongAdjacencyGraph {
+
+    public static final int MAGIC = 0x4c534d50; // "PMSL" read as a little endian int
+
+    /**
+     * Constructor for an empty graph, its edges to be filled in.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param storage The storage file, created or overwritten, or null to keep the graph in direct memory.
+     * @throws Exception If the storage file cannot be created.
+     */
+    public LongOffHeapGraph(int n, long m, String storage) throws Exception {
+        super(n, m, storage, MAGIC, 8);
+    }
+
+    /**
+     * Constructor for a graph in an existing storage file, mapped read only.
+     *
+     * @param storage The storage file.
+     * @throws Exception If the file is not a valid storage file.
+     */
+    public LongOffHeapGraph(String storage) throws Exception {
+        super(storage, MAGIC, 8);
+    }
+
+    /**
+     * Checks whether a file is a storage file of a graph with 64 bit weights.
+     *
+     * @param file The file to check.
+     * @return True if the file starts with the storage magic.
+     * @throws Exception If the file cannot be read.
+     */
+    public static boolean isLongOffHeapGraph(String file) throws Exception {
+        return hasMagic(file, MAGIC);
+    }
+
+    /**
+     * Loads a graph file, in text format with weights of up to 64 bits or in
+     * binary format with its int weights widened, without holding its edges
+     * on the heap. A text file is parsed twice, once to count the
+     * degrees and once to place the edges, a chunk of edges at a time.
+     *
+     * @param file The graph file.
+     * @param storage The storage file, or null to keep the graph in direct memory.
+     * @return The graph.
+     * @throws Exception If the graph file is malformed or the storage cannot be written.
+     */
+    public static LongOffHeapGraph load(String file, String storage) throws Exception {
+        return (LongOffHeapGraph) load(file, storage, new LongLoader());
+    }
+
+    public long weight(long slot) {
+        return this.weights.getLong(slot);
+    }
+
+    /**
+     * Reads the weights as 64 bit longs.
+     */
+    private static class LongLoader extends Loader {
+
+        public long[] weights = new long[CHUNK_SIZE];
+
+        protected OffHeapStorage create(int n, long m, String storage) throws Exception {
+            return new LongOffHeapGraph(n, m, storage);
+        }
+
+        protected int read(EdgeListReader reader, int count) throws Exception {
+            return reader.readEdges(this.tails, this.heads, this.weights, 0, count);
+        }
+
+        protected void putWeight(OffHeapArray weights, long slot, int i) {
+            weights.putLong(slot, this.weights[i]);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package primmst;
+
 /**
  * Min heap structure.
  *
@@ -39,6 +41,9 @@ public class MinHeap {
         if (this.lastFreePos == heapNodes.length) {
             throw new Exception("Heap overflow");
         }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
         this.heapNodes[this.lastFreePos] = hn;
         this.positions[hn.vertex] = this.lastFreePos;
         int childPos = this.lastFreePos, parentPos = (childPos - 1) / 2;
@@ -50,6 +55,9 @@ public class MinHeap {
             this.positions[this.heapNodes[childPos].vertex] = childPos;
             this.positions[this.heapNodes[parentPos].vertex] = parentPos;
             childPos = parentPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
             parentPos = (childPos - 1) / 2;
         }
         this.lastFreePos++;
@@ -65,6 +73,9 @@ public class MinHeap {
         if (this.lastFreePos == 0) {
             throw new Exception("Empty heap");
         }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
         // It 's basicly a deletion from the first position without needing to bubble up
         HeapNode hn = this.heapNodes[0], aux;
         this.heapNodes[0] = this.heapNodes[this.lastFreePos - 1];
@@ -87,6 +98,9 @@ public class MinHeap {
             this.positions[this.heapNodes[minChildPos].vertex] = minChildPos;
             this.positions[this.heapNodes[parentPos].vertex] = parentPos;
             parentPos = minChildPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
             leftChildPos = (parentPos + 1) * 2 - 1;
             rightChildPos = leftChildPos + 1;
         }
@@ -104,6 +118,9 @@ public class MinHeap {
         if (pos < 0 || pos >= this.lastFreePos) {
             throw new Exception("Invalid position");
         }
+        if (Stats.ENABLED) {
+            Stats.deletes++;
+        }
         HeapNode hn = this.heapNodes[pos], aux;
         this.heapNodes[pos] = this.heapNodes[this.lastFreePos - 1];
         this.positions[this.heapNodes[pos].vertex] = pos;
@@ -120,6 +137,9 @@ public class MinHeap {
                 this.positions[this.heapNodes[childPos].vertex] = childPos;
                 this.positions[this.heapNodes[parentPos].vertex] = parentPos;
                 childPos = parentPos;
+                if (Stats.ENABLED) {
+                    Stats.siftSteps++;
+                }
                 parentPos = (childPos - 1) / 2;
             }
         } else { // bubble down
@@ -137,6 +157,9 @@ public class MinHeap {
                 this.positions[this.heapNodes[minChildPos].vertex] = minChildPos;
                 this.positions[this.heapNodes[parentPos].vertex] = parentPos;
                 parentPos = minChildPos;
+                if (Stats.ENABLED) {
+                    Stats.siftSteps++;
+                }
                 leftChildPos = (parentPos + 1) * 2 - 1;
                 rightChildPos = leftChildPos + 1;
             }
@@ -0,0 +1,168 @@
+package primmst;
+
+/**
+ * Minimum spanning tree computed by one of the MST algorithms: the tree
+ * edges in three parallel primitive arrays, preallocated for n - 1 edges,
+ * and their overall cost. For a disconnected graph it is a minimum spanning
+ * forest, with one tree and one cost per connected component. The costs
+ * are kept in the type of the graph 's weights, so subclasses store them
+ * apart: outside this package they are read through weightOf(), totalCost()
+ * and componentCost(), which every subclass answers.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class MstResult {
+
+    public int n; // number of vertices of the graph
+    public int edgeCount; // number of tree edges
+    public int[] tails; // one end of each tree edge
+    public int[] heads; // the other end of each tree edge
+    protected int[] weights; // the cost of each tree edge
+    protected long cost; // overall cost of the tree
+    public int components; // number of connected components
+    protected long[] componentCosts; // key is the component, value is the cost of its tree
+
+    /**
+     * Constructor.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public MstResult(int n) {
+        this.componentCosts = new long[1];
+        this.reset(n);
+    }
+
+    /**
+     * Removes all edges and makes room for the tree of a graph with n
+     * vertices, keeping the arrays if they are large enough.
+     *
+     * @param n Number of vertices of the graph.
+     */
+    public void reset(int n) {
+        this.n = n;
+        if (null == this.tails || this.tails.length < n - 1) {
+            this.tails = new int[Math.max(n - 1, 0)];
+            this.heads = new int[Math.max(n - 1, 0)];
+            this.weights = new int[Math.max(n - 1, 0)];
+        }
+        this.clear();
+    }
+
+    /**
+     * Removes all edges.
+     */
+    public void clear() {
+        this.edgeCount = 0;
+        this.cost = 0;
+        this.components = 0;
+    }
+
+    /**
+     * Checks whether the tree spans the whole graph.
+     *
+     * @return True if the graph has at most one connected component.
+     */
+    public boolean isSpanningTree() {
+        return this.components <= 1;
+    }
+
+    /**
+     * Starts a new connected component, for algorithms growing the forest one
+     * tree at a time.
+     */
+    public void startComponent() {
+        if (this.components == this.componentCosts.length) {
+            long[] costs = new long[2 * this.componentCosts.length];
+            System.arraycopy(this.componentCosts, 0, costs, 0, this.components);
+            this.componentCosts = costs;
+        }
+        this.componentCosts[this.components++] = 0;
+    }
+
+    /**
+     * Finds the connected components from the tree edges, for algorithms
+     * growing all trees at once. Components are numbered in the order of
+     * their lowest vertex.
+     */
+    public void summarizeComponents() {
+        UnionFind trees = new UnionFind(this.n);
+        int[] componentOf = new int[this.n]; // key is a root, value is its component
+        int i, root;
+        for (i = 0; i < this.edgeCount; i++) {
+            trees.union(this.tails[i], this.heads[i]);
+        }
+        for (i = 0; i < this.n; i++) {
+            componentOf[i] = -1;
+        }
+        this.components = 0;
+        for (i = 0; i < this.n; i++) {
+            root = trees.find(i);
+            if (componentOf[root] == -1) {
+                componentOf[root] = this.components;
+                this.startComponent();
+            }
+        }
+        for (i = 0; i < this.edgeCount; i++) {
+            this.addToComponent(componentOf[trees.find(this.tails[i])], i);
+        }
+    }
+
+    /**
+     * Adds the cost of a tree edge to the cost of its component.
+     *
+     * @param component The component.
+     * @param edge The edge.
+     */
+    protected void addToComponent(int component, int edge) {
+        this.componentCosts[component] = Math.addExact(this.componentCosts[component], this.weightOf(edge));
+    }
+
+    /**
+     * Returns the cost of a tree edge.
+     *
+     * @param edge The edge, lower than edgeCount.
+     * @return The edge cost.
+     */
+    public long weightOf(int edge) {
+        return this.weights[edge];
+    }
+
+    /**
+     * Returns the overall cost of the tree.
+     *
+     * @return The cost, a Long, or a Double for floating point weights.
+     */
+    public Number totalCost() {
+        return this.cost;
+    }
+
+    /**
+     * Returns the cost of the tree of a connected component.
+     *
+     * @param component The component, lower than components.
+     * @return The cost, a Long, or a Double for floating point weights.
+     */
+    public Number componentCost(int component) {
+        return this.componentCosts[component];
+    }
+
+    /**
+     * Adds a tree edge.
+     *
+     * @param tail One end of the edge.
+     * @param head The other end of the edge.
+     * @param weight The edge cost.
+     */
+    public void addEdge(int tail, int head, int weight) {
+        this.tails[this.edgeCount] = tail;
+        this.heads[this.edgeCount] = head;
+        this.weights[this.edgeCount] = weight;
+        this.edgeCount++;
+        this.cost += weight;
+    }
+}
@@ -0,0 +1,729 @@
+package primmst;
+
+/**
+ * Embeddable minimum spanning tree solver. A solver is set up once with an
+ * algorithm, a heap strategy and a fork join pool, then solves any number of
+ * graphs. The heap, the Prim arrays and the edge list are kept between calls
+ * and only reallocated for a graph larger than any solved before, so a
+ * long running service does not allocate them again for every graph.
+ * DenseGraph inputs are solved by DensePrimMST, which needs no heap; isDense
+ * tells a loader whether a graph is dense enough to be read into one.
+ * lazy-prim runs LazyPrimMST on a growable PackedMinHeap, whatever the heap
+ * strategy.
+ * Graphs with 64 bit or floating point weights are solved by separate
+ * primitive paths, on a LongIndexedMinHeap or a DoubleIndexedMinHeap, with
+ * Prim 's or Kruskal 's algorithm.
+ * Graphs of other storage than Graph, like an OffHeapGraph, are not copied
+ * onto the heap: Kruskal 's algorithm sorts their edges out of core with
+ * ExternalKruskalMST, and Boruvka and Filter-Kruskal, which need all the
+ * edges in arrays, do not run on them.
+ * A solver is not thread safe; use one per thread.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+public class MstSolver {
+
+    public static final String[] ALGORITHMS = {"prim", "dense-prim", "lazy-prim", "kruskal", "boruvka", "filter-kruskal"};
+    public static final double DENSE_THRESHOLD = 0.25; // m / n ^ 2 from which prim reads the graph into a matrix
+
+    public String algorithm;
+    public String heapName;
+    public ForkJoinPool pool;
+    public double denseThreshold; // m / n ^ 2 from which prim reads the graph into a matrix
+    public File tempDir; // where kruskal spills the runs of a graph that is not a Graph, null for the default temporary directory
+
+    private int capacity; // number of vertices the Prim buffers are sized for
+    private IndexedPriorityQueue heap;
+    private boolean[] visited; // key is the vertex, value tells if it is in the tree
+    private int[] tails; // key is the vertex, value is the tree vertex it is reached from
+    private PackedMinHeap packedHeap;
+    private int[] keys; // key is the vertex, value is its cheapest known edge, for lazy-prim
+    private EdgeList edges;
+    private ExternalKruskalMST external;
+    private LongIndexedMinHeap longHeap;
+    private LongEdgeList longEdges;
+    private DoubleIndexedMinHeap doubleHeap;
+    private DoubleEdgeList doubleEdges;
+
+    /**
+     * Constructor for Prim 's algorithm on a binary heap.
+     */
+    public MstSolver() throws Exception {
+        this("prim", "binary", ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param algorithm The MST algorithm, one of ALGORITHMS.
+     * @param heapName The heap strategy Prim 's algorithm runs on, see createHeap().
+     * @param pool The pool the parallel algorithms run on.
+     * @throws Exception If the algorithm or the heap strategy is unknown.
+     */
+    public MstSolver(String algorithm, String heapName, ForkJoinPool pool) throws Exception {
+        boolean known = false;
+        for (int i = 0; i < ALGORITHMS.length; i++) {
+            known |= ALGORITHMS[i].equals(algorithm);
+        }
+        if (!known) {
+            throw new Exception("Unknown algorithm " + algorithm + ".");
+        }
+        createHeap(heapName, 0);
+        this.algorithm = algorithm;
+        this.heapName = heapName;
+        this.pool = pool;
+        this.denseThreshold = DENSE_THRESHOLD;
+        this.capacity = -1;
+    }
+
+    /**
+     * Allocates the buffers for graphs of up to n vertices ahead of the
+     * first solve.
+     *
+     * @param n Number of vertices.
+     * @throws Exception If the heap cannot be created.
+     */
+    public void reserve(int n) throws Exception {
+        if (this.algorithm.equals("prim") && (null == this.heap || n > this.heap.capacity())) {
+            this.heap = createHeap(this.heapName, n);
+            this.reserveScratch(n);
+        }
+        if (this.algorithm.equals("lazy-prim") && (null == this.keys || n > this.keys.length)) {
+            this.packedHeap = new PackedMinHeap(n); // grows past n by itself
+            this.keys = new int[n];
+            this.reserveScratch(n);
+        }
+    }
+
+    /**
+     * Allocates the buffers for graphs of up to n vertices with 64 bit
+     * weights ahead of the first solve.
+     *
+     * @param n Number of vertices.
+     */
+    public void reserveLong(int n) {
+        if (this.algorithm.equals("prim") && (null == this.longHeap || n > this.longHeap.capacity())) {
+            this.longHeap = new LongIndexedMinHeap(n);
+            this.reserveScratch(n);
+        }
+    }
+
+    /**
+     * Allocates the buffers for graphs of up to n vertices with floating
+     * point weights ahead of the first solve.
+     *
+     * @param n Number of vertices.
+     */
+    public void reserveDouble(int n) {
+        if (this.algorithm.equals("prim") && (null == this.doubleHeap || n > this.doubleHeap.capacity())) {
+            this.doubleHeap = new DoubleIndexedMinHeap(n);
+            this.reserveScratch(n);
+        }
+    }
+
+    /**
+     * Allocates the Prim arrays shared by all weight types.
+     */
+    private void reserveScratch(int n) {
+        if (n > this.capacity) {
+            this.visited = new boolean[n];
+            this.tails = new int[n];
+            this.capacity = n;
+        }
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, into a new result.
+     *
+     * @param graph The graph.
+     * @return The result.
+     * @throws Exception If the algorithm fails.
+     */
+    public MstResult solve(AdjacencyGraph graph) throws Exception {
+        return this.solve(graph, new MstResult(graph.vertexCount()));
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, into a result that is
+     * reset first and whose arrays are reused if they are large enough.
+     *
+     * @param graph The graph.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the algorithm fails.
+     */
+    public MstResult solve(AdjacencyGraph graph, MstResult result) throws Exception {
+        int n = graph.vertexCount();
+        long start = Stats.start();
+        int phase = Stats.INIT; // the phase being timed
+        try {
+            result.reset(n);
+            if (this.algorithm.equals("dense-prim")) {
+                DenseGraph dense = DenseGraph.fromGraph(graph);
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                return DensePrimMST.prim(dense, result);
+            }
+            if (this.algorithm.equals("prim")) {
+                this.reserve(n);
+                if (this.heap.size() != 0) {
+                    this.heap.clear(); // left over by a failed call
+                }
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                if (graph instanceof Graph) {
+                    return prim((Graph) graph, this.heap, result, this.visited, this.tails);
+                }
+                return prim(graph, this.heap, result, this.visited, this.tails);
+            }
+            if (this.algorithm.equals("lazy-prim")) {
+                this.reserve(n);
+                this.packedHeap.clear(); // left over by a failed call
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                if (graph instanceof Graph) {
+                    return LazyPrimMST.prim((Graph) graph, this.packedHeap, result, this.visited, this.keys, this.tails);
+                }
+                return LazyPrimMST.prim(graph, this.packedHeap, result, this.visited, this.keys, this.tails);
+            }
+            if (!(graph instanceof Graph)) {
+                if (!this.algorithm.equals("kruskal")) {
+                    throw new Exception("The " + this.algorithm + " algorithm does not run on an off heap graph.");
+                }
+                if (null == this.external) {
+                    this.external = new ExternalKruskalMST(ExternalKruskalMST.DEFAULT_RUN_SIZE, null);
+                }
+                this.external.tempDir = this.tempDir;
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                return this.external.solve(graph, result);
+            }
+            this.edges = EdgeList.fromGraph(graph, this.edges);
+            start = Stats.lap(Stats.INIT, start);
+            phase = Stats.SOLVE;
+            if (this.algorithm.equals("kruskal")) {
+                return KruskalMST.kruskal(this.edges, result);
+            } else if (this.algorithm.equals("boruvka")) {
+                return BoruvkaMST.boruvka(this.edges, this.pool, result);
+            }
+            return FilterKruskalMST.filterKruskal(this.edges, this.pool, result);
+        } finally {
+            Stats.end(phase, start); // a failed initialization counts as INIT
+        }
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, of an adjacency matrix
+     * into a result that is reset first, with DensePrimMST.
+     *
+     * @param graph The graph.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the algorithm is not prim or dense-prim.
+     */
+    public MstResult solve(DenseGraph graph, MstResult result) throws Exception {
+        if (!this.algorithm.equals("prim") && !this.algorithm.equals("dense-prim")) {
+            throw new Exception("The " + this.algorithm + " algorithm does not run on an adjacency matrix.");
+        }
+        long start = Stats.start();
+        result.reset(graph.n);
+        start = Stats.lap(Stats.INIT, start);
+        try {
+            return DensePrimMST.prim(graph, result);
+        } finally {
+            Stats.end(Stats.SOLVE, start);
+        }
+    }
+
+    /**
+     * Checks whether a graph should be read into a DenseGraph: Prim 's
+     * algorithm is asked for, m / n ^ 2 reaches denseThreshold and the matrix
+     * fits DenseGraph.MAX_VERTICES. Converting a graph already loaded costs
+     * more than the heap does, so the choice is made before loading.
+     *
+     * @param n Number of vertices.
+     * @param m Number of edges.
+     * @return True if the graph should be solved on an adjacency matrix.
+     */
+    public boolean isDense(int n, long m) {
+        if (!this.algorithm.equals("prim") && !this.algorithm.equals("dense-prim")) {
+            return false;
+        }
+        return n > 0 && n <= DenseGraph.MAX_VERTICES && m / ((double) n * n) >= this.denseThreshold;
+    }
+
+    /**
+     * Checks whether a text file should be read into a DenseGraph, by its
+     * header only. Binary files are already adjacency lists and are not.
+     *
+     * @param file The graph file.
+     * @return True if the graph should be solved on an adjacency matrix.
+     * @throws Exception If the file cannot be read or its header is malformed.
+     */
+    public boolean isDense(String file) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            return false;
+        }
+        EdgeListReader reader = new EdgeListReader(file);
+        try {
+            reader.readLongHeader();
+        } finally {
+            reader.close();
+        }
+        return this.isDense(reader.n, reader.edgeCount);
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, of a graph with 64 bit
+     * weights into a new result.
+     *
+     * @param graph The graph.
+     * @return The result.
+     * @throws Exception If the algorithm fails or does not support 64 bit weights.
+     */
+    public LongMstResult solve(LongAdjacencyGraph graph) throws Exception {
+        return this.solve(graph, new LongMstResult(graph.vertexCount()));
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, of a graph with 64 bit
+     * weights into a result that is reset first. Prim 's algorithm always
+     * runs on a binary heap here, whatever the heap strategy.
+     *
+     * @param graph The graph.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the algorithm fails or does not support 64 bit weights.
+     */
+    public LongMstResult solve(LongAdjacencyGraph graph, LongMstResult result) throws Exception {
+        int n = graph.vertexCount();
+        long start = Stats.start();
+        int phase = Stats.INIT; // the phase being timed
+        try {
+            result.reset(n);
+            if (this.algorithm.equals("prim")) {
+                this.reserveLong(n);
+                if (this.longHeap.size() != 0) {
+                    this.longHeap.clear(); // left over by a failed call
+                }
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                if (graph instanceof LongGraph) {
+                    return prim((LongGraph) graph, this.longHeap, result, this.visited, this.tails);
+                }
+                return prim(graph, this.longHeap, result, this.visited, this.tails);
+            }
+            if (!this.algorithm.equals("kruskal")) {
+                throw new Exception("The " + this.algorithm + " algorithm does not support 64 bit weights.");
+            }
+            this.longEdges = LongEdgeList.fromGraph(graph, this.longEdges);
+            start = Stats.lap(Stats.INIT, start);
+            phase = Stats.SOLVE;
+            return KruskalMST.kruskal(this.longEdges, result);
+        } finally {
+            Stats.end(phase, start); // a failed initialization counts as INIT
+        }
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, of a graph with floating
+     * point weights into a new result.
+     *
+     * @param graph The graph.
+     * @return The result.
+     * @throws Exception If the algorithm fails or does not support floating point weights.
+     */
+    public DoubleMstResult solve(DoubleAdjacencyGraph graph) throws Exception {
+        return this.solve(graph, new DoubleMstResult(graph.vertexCount()));
+    }
+
+    /**
+     * Computes a minimum spanning tree, or forest, of a graph with floating
+     * point weights into a result that is reset first. Prim 's algorithm
+     * always runs on a binary heap here, whatever the heap strategy.
+     *
+     * @param graph The graph.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the algorithm fails or does not support floating point weights.
+     */
+    public DoubleMstResult solve(DoubleAdjacencyGraph graph, DoubleMstResult result) throws Exception {
+        int n = graph.vertexCount();
+        long start = Stats.start();
+        int phase = Stats.INIT; // the phase being timed
+        try {
+            result.reset(n);
+            if (this.algorithm.equals("prim")) {
+                this.reserveDouble(n);
+                if (this.doubleHeap.size() != 0) {
+                    this.doubleHeap.clear(); // left over by a failed call
+                }
+                start = Stats.lap(Stats.INIT, start);
+                phase = Stats.SOLVE;
+                return prim(graph, this.doubleHeap, result, this.visited, this.tails);
+            }
+            if (!this.algorithm.equals("kruskal")) {
+                throw new Exception("The " + this.algorithm + " algorithm does not support floating point weights.");
+            }
+            this.doubleEdges = DoubleEdgeList.fromGraph(graph, this.doubleEdges);
+            start = Stats.lap(Stats.INIT, start);
+            phase = Stats.SOLVE;
+            return KruskalMST.kruskal(this.doubleEdges, result);
+        } finally {
+            Stats.end(phase, start); // a failed initialization counts as INIT
+        }
+    }
+
+    /**
+     * Creates the heap Prim 's algorithm runs on.
+     *
+     * @param name The heap strategy: binary, pairing, fibonacci or d-ary
+     * written as the number of children followed by "-ary", like 4-ary.
+     * @param heapDimension Heap 's dimension.
+     * @return The heap.
+     * @throws Exception If the strategy is unknown.
+     */
+    public static IndexedPriorityQueue createHeap(String name, int heapDimension) throws Exception {
+        if (name.equals("binary")) {
+            return new IndexedMinHeap(heapDimension);
+        } else if (name.equals("pairing")) {
+            return new PairingHeap(heapDimension);
+        } else if (name.equals("fibonacci")) {
+            return new FibonacciHeap(heapDimension);
+        } else if (name.endsWith("-ary")) {
+            try {
+                return new DaryHeap(Integer.parseInt(name.substring(0, name.length() - 4)), heapDimension);
+            } catch (NumberFormatException ex) {
+            }
+        }
+        throw new Exception("Unknown heap " + name + ".");
+    }
+
+    /**
+     * Prim 's algorithm. A vertex enters the heap only once an edge reaches
+     * it, so no key value is kept aside to mark unreached vertices and an
+     * edge of weight Integer.MAX_VALUE is an edge like any other. When the
+     * heap runs empty, the lowest vertex not in the tree starts a new
+     * component, so on a disconnected graph Prim 's algorithm builds a
+     * minimum spanning forest.
+     *
+     * @param graph The graph.
+     * @param heap Empty heap of at least n vertices.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails.
+     */
+    public static MstResult prim(Graph graph, IndexedPriorityQueue heap, MstResult result, boolean[] visited, int[] tails) throws Exception {
+        int u, v, last, next = 0;
+        for (int i = 0; i < graph.n; i++) {
+            visited[i] = false;
+        }
+        for (int i = 0; i < graph.n; i++) {
+            if (heap.size() == 0) {
+                while (visited[next]) {
+                    next++;
+                }
+                heap.insert(next, 0);
+                tails[next] = -1;
+            }
+            u = heap.extractMin();
+            visited[u] = true;
+            if (tails[u] == -1) {
+                result.startComponent();
+            } else {
+                result.addEdge(tails[u], u, heap.key(u));
+                result.componentCosts[result.components - 1] += heap.key(u);
+            }
+
+            last = graph.offsets[u + 1];
+            if (Stats.ENABLED) {
+                Stats.edgesScanned += last - graph.offsets[u];
+            }
+            for (int j = graph.offsets[u]; j < last; j++) {
+                v = graph.targets[j];
+                if (visited[v]) {
+                    continue;
+                }
+                if (!heap.contains(v)) {
+                    heap.insert(v, graph.weights[j]);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                } else if (graph.weights[j] < heap.key(v)) {
+                    heap.decreaseKey(v, graph.weights[j]);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prim 's algorithm on any graph storage, like an OffHeapGraph. The same
+     * as prim() on a Graph, through AdjacencyGraph 's methods.
+     *
+     * @param graph The graph.
+     * @param heap Empty heap of at least n vertices.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails.
+     */
+    public static MstResult prim(AdjacencyGraph graph, IndexedPriorityQueue heap, MstResult result, boolean[] visited, int[] tails) throws Exception {
+        int n = graph.vertexCount(), u, v, w, next = 0;
+        long last;
+        for (int i = 0; i < n; i++) {
+            visited[i] = false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (heap.size() == 0) {
+                while (visited[next]) {
+                    next++;
+                }
+                heap.insert(next, 0);
+                tails[next] = -1;
+            }
+            u = heap.extractMin();
+            visited[u] = true;
+            if (tails[u] == -1) {
+                result.startComponent();
+            } else {
+                result.addEdge(tails[u], u, heap.key(u));
+                result.componentCosts[result.components - 1] += heap.key(u);
+            }
+
+            last = graph.endEdge(u);
+            if (Stats.ENABLED) {
+                Stats.edgesScanned += last - graph.firstEdge(u);
+            }
+            for (long j = graph.firstEdge(u); j < last; j++) {
+                v = graph.target(j);
+                if (visited[v]) {
+                    continue;
+                }
+                w = graph.weight(j);
+                if (!heap.contains(v)) {
+                    heap.insert(v, w);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                } else if (w < heap.key(v)) {
+                    heap.decreaseKey(v, w);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prim 's algorithm on a graph with 64 bit weights. As in prim() on a
+     * Graph, a vertex enters the heap only once an edge reaches it, so every
+     * long is a valid weight, and when the heap runs empty the lowest vertex
+     * not in the tree starts a new component.
+     *
+     * @param graph The graph.
+     * @param heap Empty heap of at least n vertices.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails or the cost does not fit 64 bits.
+     */
+    public static LongMstResult prim(LongGraph graph, LongIndexedMinHeap heap, LongMstResult result, boolean[] visited, int[] tails) throws Exception {
+        int u, v, last, next = 0;
+        for (int i = 0; i < graph.n; i++) {
+            visited[i] = false;
+        }
+        for (int i = 0; i < graph.n; i++) {
+            if (heap.size() == 0) {
+                while (visited[next]) {
+                    next++;
+                }
+                heap.insert(next, 0);
+                tails[next] = -1;
+            }
+            u = heap.extractMin();
+            visited[u] = true;
+            if (tails[u] == -1) {
+                result.startComponent();
+            } else {
+                result.addEdge(tails[u], u, heap.key(u));
+                result.componentCosts[result.components - 1] = Math.addExact(result.componentCosts[result.components - 1], heap.key(u));
+            }
+
+            last = graph.offsets[u + 1];
+            if (Stats.ENABLED) {
+                Stats.edgesScanned += last - graph.offsets[u];
+            }
+            for (int j = graph.offsets[u]; j < last; j++) {
+                v = graph.targets[j];
+                if (visited[v]) {
+                    continue;
+                }
+                if (!heap.contains(v)) {
+                    heap.insert(v, graph.weights[j]);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                } else if (graph.weights[j] < heap.key(v)) {
+                    heap.decreaseKey(v, graph.weights[j]);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prim 's algorithm on any storage of a graph with 64 bit weights, like
+     * a LongOffHeapGraph. The same as prim() on a LongGraph.
+     *
+     * @param graph The graph.
+     * @param heap Empty heap of at least n vertices.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails or the cost does not fit 64 bits.
+     */
+    public static LongMstResult prim(LongAdjacencyGraph graph, LongIndexedMinHeap heap, LongMstResult result, boolean[] visited, int[] tails) throws Exception {
+        int n = graph.vertexCount(), u, v, next = 0;
+        long last, weight;
+        for (int i = 0; i < n; i++) {
+            visited[i] = false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (heap.size() == 0) {
+                while (visited[next]) {
+                    next++;
+                }
+                heap.insert(next, 0);
+                tails[next] = -1;
+            }
+            u = heap.extractMin();
+            visited[u] = true;
+            if (tails[u] == -1) {
+                result.startComponent();
+            } else {
+                result.addEdge(tails[u], u, heap.key(u));
+                result.componentCosts[result.components - 1] = Math.addExact(result.componentCosts[result.components - 1], heap.key(u));
+            }
+
+            last = graph.endEdge(u);
+            if (Stats.ENABLED) {
+                Stats.edgesScanned += last - graph.firstEdge(u);
+            }
+            for (long j = graph.firstEdge(u); j < last; j++) {
+                v = graph.target(j);
+                if (visited[v]) {
+                    continue;
+                }
+                weight = graph.weight(j);
+                if (!heap.contains(v)) {
+                    heap.insert(v, weight);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                } else if (weight < heap.key(v)) {
+                    heap.decreaseKey(v, weight);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prim 's algorithm on a graph with floating point weights, the same as
+     * prim() on a LongAdjacencyGraph. The heap breaks ties between equal keys
+     * by vertex and an edge replaces the one a vertex is reached by only if
+     * it is strictly cheaper, so the tree only depends on the graph.
+     *
+     * @param graph The graph.
+     * @param heap Empty heap of at least n vertices.
+     * @param result Where to store the tree, empty.
+     * @param visited Scratch array of at least n entries.
+     * @param tails Scratch array of at least n entries.
+     * @return The result, holding the minimum spanning tree or forest.
+     * @throws Exception If the heap fails.
+     */
+    public static DoubleMstResult prim(DoubleAdjacencyGraph graph, DoubleIndexedMinHeap heap, DoubleMstResult result, boolean[] visited, int[] tails) throws Exception {
+        int n = graph.vertexCount(), u, v, next = 0;
+        long last;
+        double weight;
+        for (int i = 0; i < n; i++) {
+            visited[i] = false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (heap.size() == 0) {
+                while (visited[next]) {
+                    next++;
+                }
+                heap.insert(next, 0);
+                tails[next] = -1;
+            }
+            u = heap.extractMin();
+            visited[u] = true;
+            if (tails[u] == -1) {
+                result.startComponent();
+            } else {
+                result.addEdge(tails[u], u, heap.key(u));
+                result.doubleComponentCosts[result.components - 1] += heap.key(u);
+            }
+
+            last = graph.endEdge(u);
+            if (Stats.ENABLED) {
+                Stats.edgesScanned += last - graph.firstEdge(u);
+            }
+            for (long j = graph.firstEdge(u); j < last; j++) {
+                v = graph.target(j);
+                if (visited[v]) {
+                    continue;
+                }
+                weight = graph.weight(j);
+                if (!heap.contains(v)) {
+                    heap.insert(v, weight);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                } else if (weight < heap.key(v)) {
+                    heap.decreaseKey(v, weight);
+                    tails[v] = u;
+                    if (Stats.ENABLED) {
+                        Stats.edgesRelaxed++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
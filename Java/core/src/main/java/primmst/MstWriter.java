@@ -0,0 +1,172 @@
+package primmst;
+
+/**
+ * Writes the edges of a minimum spanning tree in the input text format, so
+ * the tree can be read back as a graph:
+ * [number_of_nodes] [number_of_tree_edges]
+ * [one_node_of_edge_1] [other_node_of_edge_1] [edge_1_cost]
+ * ...
+ * The digits are formatted straight into a direct buffer flushed through a
+ * file channel, no String is created per edge.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class MstWriter {
+
+    public static final int BUFFER_SIZE = 1 << 20;
+    public static final int MAX_LINE_SIZE = 2 * 12 + 25; // two ints and a long or a double with their signs and separators
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private byte[] digits = new byte[19];
+
+    /**
+     * Constructor.
+     *
+     * @param channel The channel to write to.
+     */
+    public MstWriter(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Writes the tree edges to file.
+     *
+     * @param result The tree.
+     * @param file The file where to write the tree to.
+     * @throws Exception If the file cannot be written.
+     */
+    public static void write(MstResult result, String file) throws Exception {
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            MstWriter writer = new MstWriter(fos.getChannel());
+            writer.writeLine(result.n, result.edgeCount);
+            if (result instanceof DoubleMstResult) {
+                DoubleMstResult doubleResult = (DoubleMstResult) result;
+                for (int i = 0; i < result.edgeCount; i++) {
+                    writer.writeLine(result.tails[i] + 1, result.heads[i] + 1, doubleResult.doubleWeightOf(i));
+                }
+            } else {
+                for (int i = 0; i < result.edgeCount; i++) {
+                    writer.writeLine(result.tails[i] + 1, result.heads[i] + 1, result.weightOf(i));
+                }
+            }
+            writer.flush();
+        } finally {
+            fos.close();
+        }
+    }
+
+    /**
+     * Writes a header line.
+     */
+    public void writeLine(int n, long m) throws Exception {
+        this.ensureRoom();
+        this.putInt(n);
+        this.buffer.put((byte) ' ');
+        this.putLong(m);
+        this.buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes an edge line.
+     */
+    public void writeLine(int vertex1, int vertex2, int weight) throws Exception {
+        this.ensureRoom();
+        this.putInt(vertex1);
+        this.buffer.put((byte) ' ');
+        this.putInt(vertex2);
+        this.buffer.put((byte) ' ');
+        this.putInt(weight);
+        this.buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes an edge line with a 64 bit weight.
+     */
+    public void writeLine(int vertex1, int vertex2, long weight) throws Exception {
+        this.ensureRoom();
+        this.putInt(vertex1);
+        this.buffer.put((byte) ' ');
+        this.putInt(vertex2);
+        this.buffer.put((byte) ' ');
+        this.putLong(weight);
+        this.buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes an edge line with a floating point weight. The weight goes
+     * through Double.toString, whose digits read back to the same double,
+     * so this is the one line kind that creates a String.
+     */
+    public void writeLine(int vertex1, int vertex2, double weight) throws Exception {
+        String text = Double.isInfinite(weight) ? (weight > 0 ? "inf" : "-inf") : Double.toString(weight);
+        this.ensureRoom();
+        this.putInt(vertex1);
+        this.buffer.put((byte) ' ');
+        this.putInt(vertex2);
+        this.buffer.put((byte) ' ');
+        for (int i = 0; i < text.length(); i++) {
+            this.buffer.put((byte) text.charAt(i));
+        }
+        this.buffer.put((byte) '\n');
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     */
+    public void flush() throws Exception {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer if a line might not fit in it.
+     */
+    private void ensureRoom() throws Exception {
+        if (this.buffer.remaining() < MAX_LINE_SIZE) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Formats an int in decimal.
+     */
+    private void putInt(int value) {
+        this.putLong(value); // Integer.MIN_VALUE has no int opposite
+    }
+
+    /**
+     * Formats a long in decimal. The digits are taken from the negated value,
+     * since Long.MIN_VALUE has no long opposite.
+     */
+    private void putLong(long value) {
+        long v = value;
+        int count = 0;
+        if (v < 0) {
+            this.buffer.put((byte) '-');
+        } else {
+            v = -v;
+        }
+        do {
+            this.digits[count++] = (byte) ('0' - v % 10);
+            v /= 10;
+        } while (v != 0);
+        while (count > 0) {
+            this.buffer.put(this.digits[--count]);
+        }
+    }
+}
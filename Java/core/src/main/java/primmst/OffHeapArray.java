@@ -0,0 +1,120 @@
+package primmst;
+
+/**
+ * Array of ints or longs kept outside the Java heap, in direct buffers or in
+ * the pages of a mapped file, indexed by long. A buffer holds at most 2 GB,
+ * so the array is split in segments of SEGMENT_SIZE bytes.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class OffHeapArray {
+
+    public static final int SEGMENT_SHIFT = 30;
+    public static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT; // bytes per segment, a multiple of 8
+    public static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    public long length; // number of elements
+    public int elementSize; // 4 for ints, 8 for longs
+
+    private ByteBuffer[] segments;
+
+    /**
+     * Constructor for an array in direct buffers, filled with zeros.
+     *
+     * @param length Number of elements.
+     * @param elementSize 4 for ints, 8 for longs.
+     */
+    public OffHeapArray(long length, int elementSize) {
+        this.length = length;
+        this.elementSize = elementSize;
+        this.segments = new ByteBuffer[segmentCount(length * elementSize)];
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = ByteBuffer.allocateDirect((int) this.segmentLength(i)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Constructor for an array mapped from a file region, which the file
+     * must already cover. Writes go to the file.
+     *
+     * @param channel The file.
+     * @param position File position of the first element.
+     * @param length Number of elements.
+     * @param elementSize 4 for ints, 8 for longs.
+     * @param mode READ_ONLY or READ_WRITE.
+     * @throws Exception If the file cannot be mapped.
+     */
+    public OffHeapArray(FileChannel channel, long position, long length, int elementSize, FileChannel.MapMode mode) throws Exception {
+        this.length = length;
+        this.elementSize = elementSize;
+        this.segments = new MappedByteBuffer[segmentCount(length * elementSize)];
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = channel.map(mode, position + ((long) i << SEGMENT_SHIFT), this.segmentLength(i));
+            this.segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Returns an element of an int array.
+     */
+    public int getInt(long index) {
+        long pos = index << 2;
+        return this.segments[(int) (pos >>> SEGMENT_SHIFT)].getInt((int) (pos & SEGMENT_MASK));
+    }
+
+    /**
+     * Sets an element of an int array.
+     */
+    public void putInt(long index, int value) {
+        long pos = index << 2;
+        this.segments[(int) (pos >>> SEGMENT_SHIFT)].putInt((int) (pos & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Returns an element of a long array.
+     */
+    public long getLong(long index) {
+        long pos = index << 3;
+        return this.segments[(int) (pos >>> SEGMENT_SHIFT)].getLong((int) (pos & SEGMENT_MASK));
+    }
+
+    /**
+     * Sets an element of a long array.
+     */
+    public void putLong(long index, long value) {
+        long pos = index << 3;
+        this.segments[(int) (pos >>> SEGMENT_SHIFT)].putLong((int) (pos & SEGMENT_MASK), value);
+    }
+
+    /**
+     * Writes the mapped segments back to their file.
+     */
+    public void force() {
+        for (int i = 0; i < this.segments.length; i++) {
+            if (this.segments[i] instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) this.segments[i]).force();
+            }
+        }
+    }
+
+    /**
+     * Returns the size of a segment in bytes.
+     */
+    private long segmentLength(int segment) {
+        return Math.min(SEGMENT_SIZE, this.length * this.elementSize - ((long) segment << SEGMENT_SHIFT));
+    }
+
+    private static int segmentCount(long bytes) {
+        return (int) ((bytes + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+    }
+}
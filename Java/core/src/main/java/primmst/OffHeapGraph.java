@@ -0,0 +1,93 @@
+package primmst;
+
+/**
+ * Graph kept outside the Java heap, so that graphs larger than the heap load
+ * without a huge -Xmx and without GC pauses over their arrays. The compressed
+ * sparse row arrays of Graph live in OffHeapArrays, either in direct memory or
+ * in a storage file mapped into memory, with long offsets so that the graph
+ * may hold more than 2^31 edge slots. Its storage file, laid out as told in
+ * OffHeapStorage, has the magic "PMSO" and int weights. It can be opened
+ * again without loading anything.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class OffHeapGraph extends OffHeapStorage implements AdjacencyGraph {
+
+    public static final int MAGIC = 0x4f534d50; // "PMSO" read as a little endian int
+
+    /**
+     * Constructor for an empty graph, its edges to be filled in.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param storage The storage file, created or overwritten, or null to keep the graph in direct memory.
+     * @throws Exception If the storage file cannot be created.
+     */
+    public OffHeapGraph(int n, long m, String storage) throws Exception {
+        super(n, m, storage, MAGIC, 4);
+    }
+
+    /**
+     * Constructor for a graph in an existing storage file, mapped read only.
+     *
+     * @param storage The storage file.
+     * @throws Exception If the file is not a valid storage file.
+     */
+    public OffHeapGraph(String storage) throws Exception {
+        super(storage, MAGIC, 4);
+    }
+
+    /**
+     * Checks whether a file is an off heap graph storage file.
+     *
+     * @param file The file to check.
+     * @return True if the file starts with the storage magic.
+     * @throws Exception If the file cannot be read.
+     */
+    public static boolean isOffHeapGraph(String file) throws Exception {
+        return hasMagic(file, MAGIC);
+    }
+
+    /**
+     * Loads a graph file, in text or binary format, without holding its
+     * edges on the heap. A text file is parsed twice, once to count the
+     * degrees and once to place the edges, a chunk of edges at a time.
+     *
+     * @param file The graph file.
+     * @param storage The storage file, or null to keep the graph in direct memory.
+     * @return The graph.
+     * @throws Exception If the graph file is malformed or the storage cannot be written.
+     */
+    public static OffHeapGraph load(String file, String storage) throws Exception {
+        return (OffHeapGraph) load(file, storage, new IntLoader());
+    }
+
+    public int weight(long slot) {
+        return this.weights.getInt(slot);
+    }
+
+    /**
+     * Reads the weights as 32 bit ints.
+     */
+    private static class IntLoader extends Loader {
+
+        public int[] weights = new int[CHUNK_SIZE];
+
+        protected OffHeapStorage create(int n, long m, String storage) throws Exception {
+            return new OffHeapGraph(n, m, storage);
+        }
+
+        protected int read(EdgeListReader reader, int count) throws Exception {
+            return reader.readEdges(this.tails, this.heads, this.weights, 0, count);
+        }
+
+        protected void putWeight(OffHeapArray weights, long slot, int i) {
+            weights.putInt(slot, this.weights[i]);
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package primmst;
+
+/**
+ * Compressed sparse row arrays kept outside the Java heap, shared by
+ * OffHeapGraph and LongOffHeapGraph, which differ in the width of their
+ * weights. The arrays live in OffHeapArrays, either in direct memory or in a
+ * storage file mapped into memory. A storage file starts with a 24 byte
+ * header, little endian: magic (4 bytes), version (int), n (int), 0 (int),
+ * m (long); then offsets (n + 1 longs), targets (2 * m ints) and weights
+ * (2 * m ints or longs). The loading of a graph file is shared too, with
+ * a Loader telling the weights of the two apart.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+public abstract class OffHeapStorage {
+
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    public static final int CHUNK_SIZE = 1 << 16; // edges parsed at once
+
+    public int n;
+    public long m;
+    public OffHeapArray offsets; // key is the vertex, value is its first slot
+    public OffHeapArray targets; // head vertices, grouped by tail vertex
+    public OffHeapArray weights; // edge costs, parallel to targets
+
+    private RandomAccessFile storage; // null in direct memory
+
+    /**
+     * Constructor for empty arrays, the edges to be filled in.
+     *
+     * @param n Number of vertices the graph has.
+     * @param m Number of edges the graph has.
+     * @param storage The storage file, created or overwritten, or null to keep the graph in direct memory.
+     * @param magic The storage file magic.
+     * @param weightSize 4 for int weights, 8 for long weights.
+     * @throws Exception If the storage file cannot be created.
+     */
+    protected OffHeapStorage(int n, long m, String storage, int magic, int weightSize) throws Exception {
+        this.n = n;
+        this.m = m;
+        if (null == storage) {
+            this.offsets = new OffHeapArray(n + 1L, 8);
+            this.targets = new OffHeapArray(2 * m, 4);
+            this.weights = new OffHeapArray(2 * m, weightSize);
+            return;
+        }
+        this.storage = new RandomAccessFile(storage, "rw");
+        try {
+            this.storage.setLength(0);
+            this.storage.setLength(storageSize(n, m, weightSize));
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(magic).putInt(VERSION).putInt(n).putInt(0).putLong(m).flip();
+            while (header.hasRemaining()) {
+                this.storage.getChannel().write(header, header.position());
+            }
+            this.map(FileChannel.MapMode.READ_WRITE, weightSize);
+        } catch (Exception ex) {
+            this.storage.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Constructor for arrays in an existing storage file, mapped read only.
+     *
+     * @param storage The storage file.
+     * @param magic The storage file magic.
+     * @param weightSize 4 for int weights, 8 for long weights.
+     * @throws Exception If the file is not a valid storage file.
+     */
+    protected OffHeapStorage(String storage, int magic, int weightSize) throws Exception {
+        this.storage = new RandomAccessFile(storage, "r");
+        try {
+            FileChannel channel = this.storage.getChannel();
+            if (channel.size() < HEADER_SIZE) {
+                throw new Exception("Off heap graph header is truncated.");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != magic || header.getInt(4) != VERSION) {
+                throw new Exception("Not an off heap graph file.");
+            }
+            this.n = header.getInt(8);
+            this.m = header.getLong(16);
+            if (this.n < 0 || this.m < 0 || channel.size() != storageSize(this.n, this.m, weightSize)) {
+                throw new Exception("Off heap graph size does not match its header.");
+            }
+            this.map(FileChannel.MapMode.READ_ONLY, weightSize);
+        } catch (Exception ex) {
+            this.storage.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether a file starts with a storage file magic.
+     *
+     * @param file The file to check.
+     * @param magic The magic.
+     * @return True if the file starts with the magic.
+     * @throws Exception If the file cannot be read.
+     */
+    protected static boolean hasMagic(String file, int magic) throws Exception {
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            ByteBuffer bytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (bytes.hasRemaining() && fis.getChannel().read(bytes) > 0) {
+            }
+            return !bytes.hasRemaining() && bytes.getInt(0) == magic;
+        } finally {
+            fis.close();
+        }
+    }
+
+    /**
+     * Loads a graph file, in text or binary format, without holding its
+     * edges on the heap. A text file is parsed twice, once to count the
+     * degrees and once to place the edges, a chunk of edges at a time; the
+     * graph is created once the first pass went through.
+     *
+     * @param file The graph file.
+     * @param storage The storage file, or null to keep the graph in direct memory.
+     * @param loader Creates the graph and reads and writes its weights.
+     * @return The graph.
+     * @throws Exception If the graph file is malformed or the storage cannot be written.
+     */
+    protected static OffHeapStorage load(String file, String storage, Loader loader) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            return loadBinary(file, storage, loader);
+        }
+        int[] tails = loader.tails, heads = loader.heads;
+        EdgeListReader reader = new EdgeListReader(file);
+        long[] cursors; // degrees, then the next free slot of each vertex
+        OffHeapStorage graph;
+        int read, i;
+        try {
+            reader.readLongHeader();
+            cursors = new long[reader.n + 1];
+            long left = reader.edgeCount;
+            while (left > 0) {
+                read = loader.read(reader, (int) Math.min(CHUNK_SIZE, left));
+                if (read == 0) {
+                    throw new Exception("Could not read edge on line " + (reader.edgeCount - left + 1));
+                }
+                for (i = 0; i < read; i++) {
+                    cursors[tails[i] + 1]++;
+                    cursors[heads[i] + 1]++;
+                }
+                left -= read;
+            }
+        } finally {
+            reader.close();
+        }
+
+        graph = loader.create(reader.n, reader.edgeCount, storage);
+        try {
+            for (i = 0; i < graph.n; i++) {
+                cursors[i + 1] += cursors[i];
+            }
+            for (i = 0; i <= graph.n; i++) {
+                graph.offsets.putLong(i, cursors[i]);
+            }
+            reader = new EdgeListReader(file);
+            try {
+                reader.readLongHeader();
+                long left = reader.edgeCount;
+                while (left > 0) {
+                    read = loader.read(reader, (int) Math.min(CHUNK_SIZE, left));
+                    if (read == 0) { // the file changed since the first pass
+                        throw new Exception("Could not read edge on line " + (reader.edgeCount - left + 1));
+                    }
+                    for (i = 0; i < read; i++) {
+                        graph.targets.putInt(cursors[tails[i]], heads[i]);
+                        loader.putWeight(graph.weights, cursors[tails[i]]++, i);
+                        graph.targets.putInt(cursors[heads[i]], tails[i]);
+                        loader.putWeight(graph.weights, cursors[heads[i]]++, i);
+                    }
+                    left -= read;
+                }
+            } finally {
+                reader.close();
+            }
+            graph.force();
+        } catch (Exception ex) {
+            graph.close();
+            throw ex;
+        }
+        return graph;
+    }
+
+    /**
+     * Copies a file in the binary graph format, window by window.
+     */
+    private static OffHeapStorage loadBinary(String file, String storage, Loader loader) throws Exception {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        OffHeapStorage graph = null;
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer header = readBinaryHeader(channel);
+            graph = loader.create(header.getInt(8), header.getInt(12), storage);
+            graph.copyBinary(channel, header);
+            graph.force();
+            return graph;
+        } catch (Exception ex) {
+            if (null != graph) {
+                graph.close();
+            }
+            throw ex;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads and checks the header of a file in the binary graph format.
+     *
+     * @param channel The opened file.
+     * @return The header.
+     * @throws Exception If the version is unknown or the size does not match.
+     */
+    protected static ByteBuffer readBinaryHeader(FileChannel channel) throws Exception {
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryGraphFormat.HEADER_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(4) != BinaryGraphFormat.VERSION) {
+            throw new Exception("Unsupported binary graph version " + header.getInt(4) + ".");
+        }
+        int n = header.getInt(8), m = header.getInt(12);
+        if (n < 0 || m < 0 || channel.size() != BinaryGraphFormat.HEADER_SIZE + 4L * (n + 1) + 16L * m) {
+            throw new Exception("Binary graph size does not match its header.");
+        }
+        return header;
+    }
+
+    /**
+     * Copies the arrays of a file in the binary graph format, window by
+     * window, widening the ints to the element size of each array.
+     *
+     * @param channel The opened file.
+     * @param header Its header, read by readBinaryHeader().
+     * @throws Exception If the checksum does not match.
+     */
+    private void copyBinary(FileChannel channel, ByteBuffer header) throws Exception {
+        CRC32 crc = new CRC32();
+        long pos = BinaryGraphFormat.HEADER_SIZE;
+        pos = copy(channel, pos, this.n + 1L, this.offsets, crc);
+        pos = copy(channel, pos, 2 * this.m, this.targets, crc);
+        copy(channel, pos, 2 * this.m, this.weights, crc);
+        if (crc.getValue() != header.getLong(16)) {
+            throw new Exception("Binary graph checksum mismatch.");
+        }
+    }
+
+    /**
+     * Copies count ints from the file to an off heap array of ints or longs.
+     *
+     * @return The file position after the ints.
+     */
+    private static long copy(FileChannel channel, long pos, long count, OffHeapArray array, CRC32 crc) throws Exception {
+        long done = 0;
+        int length, i;
+        ByteBuffer window;
+        while (done < count) {
+            length = (int) Math.min(count - done, BinaryGraphFormat.WINDOW_SIZE / 4);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, pos, 4L * length).order(ByteOrder.LITTLE_ENDIAN);
+            crc.update(window.duplicate());
+            for (i = 0; i < length; i++) {
+                if (array.elementSize == 8) {
+                    array.putLong(done + i, window.getInt(4 * i));
+                } else {
+                    array.putInt(done + i, window.getInt(4 * i));
+                }
+            }
+            pos += 4L * length;
+            done += length;
+        }
+        return pos;
+    }
+
+    public int vertexCount() {
+        return this.n;
+    }
+
+    public long edgeCount() {
+        return this.m;
+    }
+
+    public long firstEdge(int vertex) {
+        return this.offsets.getLong(vertex);
+    }
+
+    public long endEdge(int vertex) {
+        return this.offsets.getLong(vertex + 1);
+    }
+
+    public int target(long slot) {
+        return this.targets.getInt(slot);
+    }
+
+    /**
+     * Writes a file backed graph to its storage file.
+     */
+    public void force() {
+        this.offsets.force();
+        this.targets.force();
+        this.weights.force();
+    }
+
+    /**
+     * Closes the storage file. The graph must not be used afterwards.
+     *
+     * @throws Exception If the file cannot be closed.
+     */
+    public void close() throws Exception {
+        if (null != this.storage) {
+            this.storage.close();
+        }
+    }
+
+    /**
+     * Returns the size of a storage file.
+     */
+    private static long storageSize(int n, long m, int weightSize) {
+        return HEADER_SIZE + 8 * (n + 1L) + 8 * m + 2 * m * weightSize;
+    }
+
+    /**
+     * Maps the arrays from the storage file.
+     */
+    private void map(FileChannel.MapMode mode, int weightSize) throws Exception {
+        FileChannel channel = this.storage.getChannel();
+        long pos = HEADER_SIZE;
+        this.offsets = new OffHeapArray(channel, pos, this.n + 1L, 8, mode);
+        pos += 8 * (this.n + 1L);
+        this.targets = new OffHeapArray(channel, pos, 2 * this.m, 4, mode);
+        pos += 8 * this.m;
+        this.weights = new OffHeapArray(channel, pos, 2 * this.m, weightSize, mode);
+    }
+
+    /**
+     * What the graphs load differently: the graph class and the width of the
+     * weights, which are read a chunk of edges at a time next to tails and
+     * heads.
+     */
+    protected abstract static class Loader {
+
+        public int[] tails = new int[CHUNK_SIZE]; // tail vertices of the chunk
+        public int[] heads = new int[CHUNK_SIZE]; // head vertices of the chunk
+
+        /**
+         * Creates an empty graph, its edges to be filled in.
+         */
+        protected abstract OffHeapStorage create(int n, long m, String storage) throws Exception;
+
+        /**
+         * Reads up to count edges into the chunk.
+         *
+         * @return The number of edges read, 0 at the end of the file.
+         */
+        protected abstract int read(EdgeListReader reader, int count) throws Exception;
+
+        /**
+         * Writes the weight of an edge of the chunk to a slot.
+         */
+        protected abstract void putWeight(OffHeapArray weights, long slot, int i);
+    }
+}
@@ -0,0 +1,155 @@
+package primmst;
+
+/**
+ * Binary min heap of packed long entries, growable, for lazy Prim. An entry
+ * is a key in the high 32 bits and a vertex in the low 32 bits, so entries
+ * compare as plain longs: by key, then by vertex. There is no position map,
+ * so a vertex may sit in the heap several times and nothing can be found,
+ * deleted or decreased, only inserted and extracted; in exchange the heap is
+ * a single long array with no object and no index to keep up to date.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class PackedMinHeap {
+
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // largest array the JVM allocates
+
+    public int lastFreePos; // last free position in heap
+    public long[] entries; // heap 's entries
+
+    /**
+     * Constructor.
+     *
+     * @param heapDimension Initial number of entries, the heap grows past it.
+     */
+    public PackedMinHeap(int heapDimension) {
+        this.lastFreePos = 0;
+        this.entries = new long[Math.max(heapDimension, 1)];
+    }
+
+    /**
+     * Packs a key and a vertex into an entry.
+     *
+     * @param key The key.
+     * @param vertex The vertex.
+     * @return The entry.
+     */
+    public static long pack(int key, int vertex) {
+        return ((long) key << 32) | (vertex & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the key of an entry.
+     *
+     * @param entry The entry.
+     * @return The key.
+     */
+    public static int key(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    /**
+     * Returns the vertex of an entry.
+     *
+     * @param entry The entry.
+     * @return The vertex.
+     */
+    public static int vertex(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Inserts an entry, doubling the heap if it is full.
+     *
+     * @param entry The entry, see pack().
+     * @throws Exception If the heap cannot grow any more.
+     */
+    public void insert(long entry) throws Exception {
+        if (this.lastFreePos == this.entries.length) {
+            if (this.entries.length == MAX_CAPACITY) {
+                throw new Exception("Heap overflow");
+            }
+            long[] entries = new long[(int) Math.min(2L * this.entries.length, MAX_CAPACITY)];
+            System.arraycopy(this.entries, 0, entries, 0, this.lastFreePos);
+            this.entries = entries;
+        }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
+        int pos = this.lastFreePos++, parentPos;
+        while (pos > 0) {
+            parentPos = (pos - 1) >>> 1;
+            if (this.entries[parentPos] <= entry) {
+                break;
+            }
+            this.entries[pos] = this.entries[parentPos];
+            pos = parentPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.entries[pos] = entry;
+    }
+
+    /**
+     * Extracts the minimal entry.
+     *
+     * @return The minimal entry.
+     * @throws Exception If heap is empty.
+     */
+    public long extractMin() throws Exception {
+        if (this.lastFreePos == 0) {
+            throw new Exception("Empty heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
+        long min = this.entries[0], entry = this.entries[--this.lastFreePos];
+        int pos = 0, childPos, size = this.lastFreePos;
+        while ((childPos = 2 * pos + 1) < size) {
+            if (childPos + 1 < size && this.entries[childPos + 1] < this.entries[childPos]) {
+                childPos++;
+            }
+            if (entry <= this.entries[childPos]) {
+                break;
+            }
+            this.entries[pos] = this.entries[childPos];
+            pos = childPos;
+            if (Stats.ENABLED) {
+                Stats.siftSteps++;
+            }
+        }
+        this.entries[pos] = entry;
+        return min;
+    }
+
+    /**
+     * Returns the number of entries in heap.
+     *
+     * @return Heap 's size.
+     */
+    public int size() {
+        return this.lastFreePos;
+    }
+
+    /**
+     * Returns the number of entries the heap holds before growing.
+     *
+     * @return Heap 's dimension.
+     */
+    public int capacity() {
+        return this.entries.length;
+    }
+
+    /**
+     * Empties the heap, keeping its array.
+     */
+    public void clear() {
+        this.lastFreePos = 0;
+    }
+}
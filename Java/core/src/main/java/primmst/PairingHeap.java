@@ -0,0 +1,190 @@
+package primmst;
+
+/**
+ * Indexed pairing heap over primitive arrays. Every vertex is a tree node
+ * linked to its first child, its next sibling and its previous node (the left
+ * sibling, or the parent for a first child). Inserts and decrease keys are
+ * O(1) melds, which suits graphs where most edges relax a key.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class PairingHeap implements IndexedPriorityQueue {
+
+    public int root; // vertex with minimal key, -1 if heap is empty
+    public int size; // number of vertices in heap
+    public int[] keys; // key is the vertex, value is its key
+    public int[] child; // key is the vertex, value is its first child
+    public int[] sibling; // key is the vertex, value is its next sibling
+    public int[] prev; // key is the vertex, value is its left sibling or its parent
+    public boolean[] inHeap; // key is the vertex, value tells if it is in heap
+
+    /**
+     * Constructor.
+     *
+     * @param heapDimension Heap 's dimension, the vertices must be lower than it.
+     */
+    public PairingHeap(int heapDimension) {
+        this.root = -1;
+        this.size = 0;
+        this.keys = new int[heapDimension];
+        this.child = new int[heapDimension];
+        this.sibling = new int[heapDimension];
+        this.prev = new int[heapDimension];
+        this.inHeap = new boolean[heapDimension];
+    }
+
+    public void insert(int vertex, int key) throws Exception {
+        if (this.size == this.keys.length) {
+            throw new Exception("Heap overflow");
+        }
+        if (this.inHeap[vertex]) {
+            throw new Exception("Vertex already in heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.inserts++;
+        }
+        this.keys[vertex] = key;
+        this.child[vertex] = -1;
+        this.sibling[vertex] = -1;
+        this.prev[vertex] = -1;
+        this.inHeap[vertex] = true;
+        this.root = this.root == -1 ? vertex : this.meld(this.root, vertex);
+        this.size++;
+    }
+
+    public int extractMin() throws Exception {
+        if (this.size == 0) {
+            throw new Exception("Empty heap");
+        }
+        if (Stats.ENABLED) {
+            Stats.extractMins++;
+        }
+        int vertex = this.root;
+        this.root = this.child[vertex] == -1 ? -1 : this.combineSiblings(this.child[vertex]);
+        this.child[vertex] = -1;
+        this.inHeap[vertex] = false;
+        this.size--;
+        return vertex;
+    }
+
+    public void decreaseKey(int vertex, int newKey) throws Exception {
+        if (!this.inHeap[vertex]) {
+            throw new Exception("Vertex not in heap");
+        }
+        if (newKey > this.keys[vertex]) {
+            throw new Exception("New key is greater than current key");
+        }
+        if (Stats.ENABLED) {
+            Stats.decreaseKeys++;
+        }
+        this.keys[vertex] = newKey;
+        if (vertex == this.root) {
+            return;
+        }
+
+        /* cut the subtree out of its parent 's children list and meld it with the root */
+        int p = this.prev[vertex];
+        if (this.child[p] == vertex) {
+            this.child[p] = this.sibling[vertex];
+        } else {
+            this.sibling[p] = this.sibling[vertex];
+        }
+        if (this.sibling[vertex] != -1) {
+            this.prev[this.sibling[vertex]] = p;
+        }
+        this.sibling[vertex] = -1;
+        this.prev[vertex] = -1;
+        this.root = this.meld(this.root, vertex);
+    }
+
+    public boolean contains(int vertex) {
+        return this.inHeap[vertex];
+    }
+
+    public int key(int vertex) {
+        return this.keys[vertex];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.inHeap.length; i++) {
+            this.inHeap[i] = false;
+        }
+        this.root = -1;
+        this.size = 0;
+    }
+
+    /**
+     * Links two trees, the one with the greater root becoming the first child
+     * of the other.
+     *
+     * @param a Root of the first tree.
+     * @param b Root of the second tree.
+     * @return The root of the linked tree.
+     */
+    private int meld(int a, int b) {
+        int aux;
+        if (this.keys[b] < this.keys[a]) {
+            aux = a;
+            a = b;
+            b = aux;
+        }
+        this.sibling[b] = this.child[a];
+        if (this.child[a] != -1) {
+            this.prev[this.child[a]] = b;
+        }
+        this.prev[b] = a;
+        this.child[a] = b;
+        this.sibling[a] = -1;
+        this.prev[a] = -1;
+        return a;
+    }
+
+    /**
+     * Two pass pairing of a children list: melds the trees pairwise from left
+     * to right, then melds the pairs from right to left. The pairs are chained
+     * in reverse order through the sibling links, so no extra storage is needed.
+     *
+     * @param first The first tree of the list.
+     * @return The root of the resulting tree.
+     */
+    private int combineSiblings(int first) {
+        int pairs = -1, a = first, b, next, merged;
+        while (a != -1) {
+            b = this.sibling[a];
+            if (b == -1) {
+                next = -1;
+                merged = a;
+            } else {
+                next = this.sibling[b];
+                merged = this.meld(a, b);
+            }
+            this.sibling[merged] = pairs;
+            pairs = merged;
+            a = next;
+        }
+
+        int result = pairs;
+        pairs = this.sibling[result];
+        while (pairs != -1) {
+            next = this.sibling[pairs];
+            result = this.meld(result, pairs);
+            pairs = next;
+        }
+        this.sibling[result] = -1;
+        this.prev[result] = -1;
+        return result;
+    }
+}
@@ -0,0 +1,226 @@
+package primmst;
+
+/**
+ * Loads large edge list files on a fork join pool. The edge lines are split
+ * into byte ranges aligned to line starts; a first parallel pass counts the
+ * lines of every range, so each range knows the index of its first edge, and
+ * a second parallel pass parses every range with an EdgeListReader straight
+ * into the builder arrays at that index. The builder then lays out the graph
+ * with a parallel counting and prefix sum pass.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelEdgeListLoader {
+
+    public static final long MIN_RANGE_SIZE = 1L << 22; // smallest byte range worth a task
+
+    /**
+     * Loads graph from file.
+     *
+     * @param file The file where to read the graph from.
+     * @param pool The pool parsing the ranges.
+     * @return The read graph.
+     * @throws Exception If the file cannot be read or is malformed.
+     */
+    public static Graph load(String file, ForkJoinPool pool) throws Exception {
+        long start = Stats.start();
+        FileInputStream fis = new FileInputStream(file);
+        GraphBuilder builder;
+        try {
+            FileChannel channel = fis.getChannel();
+            long size = channel.size(), dataStart;
+            int n, m, rangeCount, i;
+
+            EdgeListReader header = new EdgeListReader(channel, 0, size, -1, 0);
+            header.readHeader();
+            n = header.n;
+            m = header.m;
+            dataStart = header.position();
+            header.close();
+
+            /* split the edge lines into ranges starting on line starts */
+            rangeCount = (int) Math.max(1, Math.min(4L * pool.getParallelism(), (size - dataStart) / MIN_RANGE_SIZE));
+            long[] bounds = new long[rangeCount + 1];
+            bounds[0] = dataStart;
+            bounds[rangeCount] = size;
+            for (i = 1; i < rangeCount; i++) {
+                bounds[i] = nextLineStart(channel, Math.max(bounds[i - 1], dataStart + (size - dataStart) / rangeCount * i), size);
+            }
+
+            /* count the lines of every range, then turn the counts into first line indexes */
+            RangeTask[] tasks = new RangeTask[rangeCount];
+            for (i = 0; i < rangeCount; i++) {
+                tasks[i] = new RangeTask(channel, bounds[i], bounds[i + 1]);
+                pool.execute(tasks[i]);
+            }
+            long lines = 0;
+            for (i = 0; i < rangeCount; i++) {
+                tasks[i].join();
+                if (null != tasks[i].exception) {
+                    throw tasks[i].exception;
+                }
+                tasks[i].firstLine = lines;
+                lines += tasks[i].lines;
+            }
+
+            /* parse the ranges holding one of the first m lines */
+            builder = new GraphBuilder(n, m);
+            for (i = 0; i < rangeCount && tasks[i].firstLine < m; i++) {
+                tasks[i].parse(builder, (int) Math.min(tasks[i].lines, m - tasks[i].firstLine));
+                pool.execute(tasks[i]);
+            }
+            Exception first = null;
+            long firstErrorLine = Long.MAX_VALUE;
+            for (i = 0; i < rangeCount && tasks[i].firstLine < m; i++) {
+                tasks[i].join();
+                if (null != tasks[i].exception && tasks[i].errorLine < firstErrorLine) {
+                    first = tasks[i].exception;
+                    firstErrorLine = tasks[i].errorLine;
+                }
+            }
+            if (null != first) {
+                throw first;
+            }
+            if (lines < m) {
+                throw new Exception("Could not read edge on line " + (lines + 1));
+            }
+            builder.edgeCount = m;
+        } finally {
+            try {
+                fis.close();
+            } catch (Exception e) {
+            }
+        }
+        start = Stats.lap(Stats.PARSE, start);
+        try {
+            return builder.build(pool);
+        } finally {
+            Stats.end(Stats.BUILD, start);
+        }
+    }
+
+    /**
+     * Finds the first line start at or after a position.
+     *
+     * @param channel The file.
+     * @param position The position.
+     * @param size The file 's size.
+     * @return The line start, or size if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        long pos = position - 1; // a line starts at position if the byte before is a new line
+        int read;
+        while (pos < size) {
+            buffer.clear();
+            read = channel.read(buffer, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    /**
+     * Task counting, then parsing, the lines of a byte range.
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        public FileChannel channel;
+        public long start;
+        public long end;
+        public long lines; // number of lines in range
+        public long firstLine; // number of lines before range
+        public GraphBuilder builder; // where to parse the edges to, null while counting
+        public int count; // number of lines to parse
+        public Exception exception;
+        public long errorLine; // 0 based index of the line the exception is about
+
+        public RangeTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Turns the task into the parsing pass.
+         *
+         * @param builder Where to parse the edges to.
+         * @param count Number of lines to parse.
+         */
+        public void parse(GraphBuilder builder, int count) {
+            this.builder = builder;
+            this.count = count;
+            this.reinitialize();
+        }
+
+        protected void compute() {
+            try {
+                if (null == this.builder) {
+                    this.countLines();
+                } else {
+                    this.parseLines();
+                }
+            } catch (Exception ex) {
+                this.exception = ex;
+            }
+        }
+
+        /**
+         * Counts the new lines in range, plus an unterminated last line.
+         */
+        private void countLines() throws Exception {
+            MappedByteBuffer buffer;
+            long pos = this.start, length;
+            int last = '\n';
+            this.lines = 0;
+            while (pos < this.end) {
+                length = Math.min(EdgeListReader.WINDOW_SIZE, this.end - pos);
+                buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n') {
+                        this.lines++;
+                    }
+                }
+                last = buffer.get((int) length - 1);
+                pos += length;
+            }
+            if (last != '\n') {
+                this.lines++;
+            }
+        }
+
+        /**
+         * Parses the first count lines of range into the builder arrays.
+         */
+        private void parseLines() throws Exception {
+            EdgeListReader reader = new EdgeListReader(this.channel, this.start, this.end, this.builder.n, this.firstLine);
+            try {
+                reader.readEdges(this.builder.tails, this.builder.heads, this.builder.weights, (int) this.firstLine, this.count);
+            } catch (Exception ex) {
+                this.errorLine = reader.firstLine + reader.line;
+                throw ex;
+            } finally {
+                reader.close();
+            }
+        }
+    }
+}
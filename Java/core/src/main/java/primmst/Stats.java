@@ -0,0 +1,242 @@
+package primmst;
+
+/**
+ * Counters of the hot paths and timers of the phases of a solve, to tell why
+ * one graph is solved much slower than another of the same size: the heap
+ * operations and the levels they sift vertices by, the edges Prim 's and
+ * Kruskal 's algorithms scan and relax, the nanoseconds spent parsing,
+ * building the graph, initializing the solver and solving, and the peak
+ * heap usage.
+ *
+ * The statistics are off unless the primmst.stats system property is true
+ * when this class is loaded. Every hot path checks ENABLED, a constant, so
+ * the JIT removes the counting altogether when they are off. The counters
+ * are plain fields: they are exact for solves on one thread and may miss
+ * increments when several threads solve at once, as a batch does. When on,
+ * the statistics are also registered as the MXBean primmst:type=Stats.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import javax.management.ObjectName;
+
+public class Stats implements StatsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("primmst.stats");
+    public static final String OBJECT_NAME = "primmst:type=Stats";
+
+    /* phases */
+    public static final int PARSE = 0;
+    public static final int BUILD = 1;
+    public static final int INIT = 2;
+    public static final int SOLVE = 3;
+    public static final String[] PHASES = {"parse", "build", "init", "solve"};
+
+    /* heap operations */
+    public static long inserts;
+    public static long extractMins;
+    public static long decreaseKeys;
+    public static long deletes;
+    public static long siftSteps; // levels vertices moved up or down an array heap
+
+    /* edges */
+    public static long edgesScanned; // edges looked at by Prim 's or Kruskal 's algorithm
+    public static long edgesRelaxed; // edges that lowered the key of a vertex
+
+    public static final long[] phaseNanos = new long[PHASES.length]; // key is the phase, value is its time
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Stats(), new ObjectName(OBJECT_NAME));
+            } catch (Exception ex) {
+                // the counters still work without JMX, e.g. if another class loader registered first
+            }
+        }
+    }
+
+    private Stats() {
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return The start time, 0 if the statistics are off.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since start to a phase.
+     *
+     * @param phase One of PARSE, BUILD, INIT and SOLVE.
+     * @param start What start() returned.
+     */
+    public static void end(int phase, long start) {
+        if (ENABLED) {
+            phaseNanos[phase] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Adds the time since start to a phase and starts timing the next.
+     *
+     * @param phase One of PARSE, BUILD, INIT and SOLVE.
+     * @param start What start() or the previous lap() returned.
+     * @return The start time of the next phase, 0 if the statistics are off.
+     */
+    public static long lap(int phase, long start) {
+        if (ENABLED) {
+            long now = System.nanoTime();
+            phaseNanos[phase] += now - start;
+            return now;
+        }
+        return 0;
+    }
+
+    /**
+     * Zeroes every counter and timer and the peak heap usage.
+     */
+    public static void clear() {
+        inserts = extractMins = decreaseKeys = deletes = siftSteps = 0;
+        edgesScanned = edgesRelaxed = 0;
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = 0;
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Returns the peak heap usage since the JVM started or the last clear(),
+     * summed over the heap memory pools, so an upper bound when the pools
+     * peaked at different times.
+     *
+     * @return Bytes.
+     */
+    public static long peakHeapBytes() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                bytes += pool.getPeakUsage().getUsed();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the names of the statistics, in the order of values().
+     *
+     * @return The names.
+     */
+    public static String[] names() {
+        return new String[] {"inserts", "extractMins", "decreaseKeys", "deletes", "siftSteps", "edgesScanned",
+            "edgesRelaxed", "parseNanos", "buildNanos", "initNanos", "solveNanos", "peakHeapBytes"};
+    }
+
+    /**
+     * Returns the statistics, in the order of names().
+     *
+     * @return The values.
+     */
+    public static long[] values() {
+        return new long[] {inserts, extractMins, decreaseKeys, deletes, siftSteps, edgesScanned, edgesRelaxed,
+            phaseNanos[PARSE], phaseNanos[BUILD], phaseNanos[INIT], phaseNanos[SOLVE], peakHeapBytes()};
+    }
+
+    /**
+     * Returns the statistics as one JSON object.
+     *
+     * @return The JSON text.
+     */
+    public static String toJson() {
+        String[] names = names();
+        long[] values = values();
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            json.append(i == 0 ? "" : ", ").append('"').append(names[i]).append("\": ").append(values[i]);
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Returns the statistics as CSV: a line of names and a line of values.
+     *
+     * @return The CSV text.
+     */
+    public static String toCsv() {
+        String[] names = names();
+        long[] values = values();
+        StringBuilder header = new StringBuilder(), line = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            header.append(i == 0 ? "" : ",").append(names[i]);
+            line.append(i == 0 ? "" : ",").append(values[i]);
+        }
+        return header.append('\n').append(line).append('\n').toString();
+    }
+
+    /* StatsMXBean */
+
+    public long getInserts() {
+        return inserts;
+    }
+
+    public long getExtractMins() {
+        return extractMins;
+    }
+
+    public long getDecreaseKeys() {
+        return decreaseKeys;
+    }
+
+    public long getDeletes() {
+        return deletes;
+    }
+
+    public long getSiftSteps() {
+        return siftSteps;
+    }
+
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    public long getEdgesRelaxed() {
+        return edgesRelaxed;
+    }
+
+    public long getParseNanos() {
+        return phaseNanos[PARSE];
+    }
+
+    public long getBuildNanos() {
+        return phaseNanos[BUILD];
+    }
+
+    public long getInitNanos() {
+        return phaseNanos[INIT];
+    }
+
+    public long getSolveNanos() {
+        return phaseNanos[SOLVE];
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes();
+    }
+
+    public void reset() {
+        clear();
+    }
+}
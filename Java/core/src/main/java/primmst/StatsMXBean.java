@@ -0,0 +1,45 @@
+package primmst;
+
+/**
+ * Management interface of Stats, registered as primmst:type=Stats when the
+ * statistics are enabled, so jconsole or any JMX client can read them from a
+ * running service.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public interface StatsMXBean {
+
+    long getInserts();
+
+    long getExtractMins();
+
+    long getDecreaseKeys();
+
+    long getDeletes();
+
+    long getSiftSteps();
+
+    long getEdgesScanned();
+
+    long getEdgesRelaxed();
+
+    long getParseNanos();
+
+    long getBuildNanos();
+
+    long getInitNanos();
+
+    long getSolveNanos();
+
+    long getPeakHeapBytes();
+
+    /**
+     * Zeroes every counter and timer and the peak heap usage.
+     */
+    void reset();
+}
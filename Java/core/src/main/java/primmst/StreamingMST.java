@@ -0,0 +1,111 @@
+package primmst;
+
+/**
+ * Minimum spanning forest of a text edge list read in chunks, for edge lists
+ * larger than memory. Only the forest found so far and one chunk of edges
+ * are held: every round reads the next chunk behind the forest in the same
+ * arrays, sorts both together by weight and keeps the edges Kruskal 's
+ * algorithm accepts, which are the forest of all edges read so far. By the
+ * cycle property an edge left out of a round is left out of the final
+ * forest as well, so the total is the one the in memory algorithms find.
+ *
+ * Memory is O(n + chunk): the three edge arrays and the radix sort scratch
+ * of n - 1 + chunkSize edges each, 24 bytes per edge, plus the union find.
+ * The file itself is mapped a window at a time by EdgeListReader.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class StreamingMST {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22; // edges read per round
+
+    public int chunkSize; // edges read per round
+    public long rounds; // rounds of the last solve
+
+    /**
+     * Constructor.
+     *
+     * @param chunkSize Number of edges read per round.
+     * @throws Exception If the chunk size is not positive.
+     */
+    public StreamingMST(int chunkSize) throws Exception {
+        if (chunkSize < 1) {
+            throw new Exception("The chunk size must be positive.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Computes the minimum spanning tree, or forest, of a text file into a
+     * result that is reset first.
+     *
+     * @param file The file where to read the graph from, in the text format.
+     * @param result Where to store the tree.
+     * @return The result.
+     * @throws Exception If the file is binary or malformed, or the forest and a chunk do not fit arrays.
+     */
+    public MstResult solve(String file, MstResult result) throws Exception {
+        if (BinaryGraphFormat.isBinary(file)) {
+            throw new Exception("The streaming engine reads text files only.");
+        }
+        EdgeListReader reader = new EdgeListReader(file);
+        EdgeList edges;
+        int forest = 0, read;
+        try {
+            reader.readLongHeader();
+            long capacity = Math.max(reader.n - 1, 0) + Math.min(this.chunkSize, reader.edgeCount);
+            if (capacity > Integer.MAX_VALUE - 8) {
+                throw new Exception("The forest and a chunk of " + this.chunkSize + " edges do not fit arrays.");
+            }
+            edges = new EdgeList(reader.n, 0, new int[(int) capacity], new int[(int) capacity], new int[(int) capacity]);
+            this.rounds = 0;
+            long left = reader.edgeCount;
+            while (left > 0) {
+                read = reader.readEdges(edges.tails, edges.heads, edges.weights, forest, (int) Math.min(this.chunkSize, left));
+                if (read == 0) {
+                    throw new Exception("Could not read edge on line " + (reader.edgeCount - left + 1));
+                }
+                left -= read;
+                forest = reduce(edges, forest + read);
+                this.rounds++;
+            }
+        } finally {
+            reader.close();
+        }
+
+        result.reset(edges.n);
+        for (int i = 0; i < forest; i++) {
+            result.addEdge(edges.tails[i], edges.heads[i], edges.weights[i]);
+        }
+        result.summarizeComponents();
+        return result;
+    }
+
+    /**
+     * Reduces the first m edges of a list to their minimum spanning forest,
+     * moved to the front of the list in order of weight.
+     *
+     * @param edges The edge list.
+     * @param m Number of edges to reduce.
+     * @return Number of edges of the forest.
+     */
+    public static int reduce(EdgeList edges, int m) {
+        edges.sortByWeight(0, m);
+        UnionFind components = new UnionFind(edges.n);
+        int kept = 0;
+        for (int i = 0; i < m && kept < edges.n - 1; i++) {
+            if (components.union(edges.tails[i], edges.heads[i])) {
+                edges.tails[kept] = edges.tails[i];
+                edges.heads[kept] = edges.heads[i];
+                edges.weights[kept] = edges.weights[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,88 @@
+package primmst;
+
+/**
+ * Disjoint sets over the vertices 0 .. n - 1, with union by rank and path
+ * halving.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub    https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+public class UnionFind {
+
+    public int[] parent; // key is the vertex, value is its parent, itself for a root
+    public byte[] rank; // key is a root, value is an upper bound of its tree 's height
+    public int count; // number of sets
+
+    /**
+     * Constructor. Every vertex starts in its own set.
+     *
+     * @param n Number of vertices.
+     */
+    public UnionFind(int n) {
+        this.parent = new int[n];
+        this.rank = new byte[n];
+        this.count = n;
+        for (int i = 0; i < n; i++) {
+            this.parent[i] = i;
+        }
+    }
+
+    /**
+     * Finds the root of a vertex 's set, making every other vertex on the
+     * path point to its grandparent.
+     *
+     * @param vertex The vertex.
+     * @return The root of its set.
+     */
+    public int find(int vertex) {
+        while (this.parent[vertex] != vertex) {
+            this.parent[vertex] = this.parent[this.parent[vertex]];
+            vertex = this.parent[vertex];
+        }
+        return vertex;
+    }
+
+    /**
+     * Finds the root of a vertex 's set without changing the sets, so that
+     * many threads may call it at once while no union happens. Union by rank
+     * keeps the path below log2(n) steps.
+     *
+     * @param vertex The vertex.
+     * @return The root of its set.
+     */
+    public int root(int vertex) {
+        while (this.parent[vertex] != vertex) {
+            vertex = this.parent[vertex];
+        }
+        return vertex;
+    }
+
+    /**
+     * Joins the sets of two vertices.
+     *
+     * @param a A vertex.
+     * @param b Another vertex.
+     * @return True if the vertices were in different sets.
+     */
+    public boolean union(int a, int b) {
+        a = this.find(a);
+        b = this.find(b);
+        if (a == b) {
+            return false;
+        }
+        if (this.rank[a] < this.rank[b]) {
+            this.parent[a] = b;
+        } else if (this.rank[a] > this.rank[b]) {
+            this.parent[b] = a;
+        } else {
+            this.parent[b] = a;
+            this.rank[a]++;
+        }
+        this.count--;
+        return true;
+    }
+}
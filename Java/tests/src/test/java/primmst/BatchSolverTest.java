@@ -0,0 +1,52 @@
+package primmst;
+
+/**
+ * JUnit test for BatchSolver.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class BatchSolverTest {
+
+    /**
+     * Test a manifest is solved in order, with a failing file reported on
+     * its own line, on a budget smaller than any graph.
+     */
+    @Test
+    public void manifestTest() throws Exception {
+        File manifest = File.createTempFile("BatchSolverTest", ".txt");
+        manifest.deleteOnExit();
+        String inputs = new File("../../in").getAbsolutePath();
+        FileWriter writer = new FileWriter(manifest);
+        writer.write("# bundled inputs\n" + inputs + "/inputBig.txt\n\n" + inputs + "/inputSmall.txt\nmissing.txt\n"
+                + inputs + "/inputMedium.txt\n");
+        writer.close();
+
+        List<String> files = BatchSolver.listFiles(manifest.getPath());
+        assertEquals(4, files.size());
+        assertEquals(new File(manifest.getParentFile(), "missing.txt").getPath(), files.get(2));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BatchSolver batch = new BatchSolver("prim", "binary", new ForkJoinPool(2), 3, 1);
+        assertEquals(1, batch.run(files, new PrintStream(bytes)));
+        String[] lines = bytes.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith(files.get(0) + "\t-3612829\t1\t"));
+        assertTrue(lines[1].startsWith(files.get(1) + "\t-27534\t1\t"));
+        assertTrue(lines[2].startsWith(files.get(2) + "\tERR. "));
+        assertTrue(lines[3].startsWith(files.get(3) + "\t37\t1\t"));
+    }
+}
@@ -0,0 +1,61 @@
+package primmst;
+
+/**
+ * JUnit test for BinaryGraphFormat.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.io.RandomAccessFile;
+
+public class BinaryGraphFormatTest {
+
+    /**
+     * Test a graph written in binary format is read back unchanged.
+     */
+    @Test
+    public void roundTripTest() throws Exception {
+        File file = File.createTempFile("BinaryGraphFormatTest", ".bin");
+        file.deleteOnExit();
+        Graph graph = GraphLoader.load("../../in/inputSmall.txt");
+        BinaryGraphFormat.write(graph, file.getPath());
+
+        assertTrue(BinaryGraphFormat.isBinary(file.getPath()));
+        assertFalse(BinaryGraphFormat.isBinary("../../in/inputSmall.txt"));
+        Graph read = GraphLoader.load(file.getPath());
+        assertEquals(graph.n, read.n);
+        assertEquals(graph.m, read.m);
+        assertArrayEquals(graph.offsets, read.offsets);
+        assertArrayEquals(graph.targets, read.targets);
+        assertArrayEquals(graph.weights, read.weights);
+    }
+
+    /**
+     * Test a corrupted file is rejected.
+     */
+    @Test
+    public void checksumTest() throws Exception {
+        File file = File.createTempFile("BinaryGraphFormatTest", ".bin");
+        file.deleteOnExit();
+        BinaryGraphFormat.write(GraphLoader.load("../../in/inputSmall.txt"), file.getPath());
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.seek(raf.length() - 1);
+        int last = raf.read();
+        raf.seek(raf.length() - 1);
+        raf.write(last ^ 1);
+        raf.close();
+        try {
+            BinaryGraphFormat.read(file.getPath());
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Binary graph checksum mismatch.", ex.getMessage());
+        }
+    }
+}
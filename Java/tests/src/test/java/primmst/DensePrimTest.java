@@ -0,0 +1,186 @@
+package primmst;
+
+/**
+ * JUnit test for Prim 's algorithm on an adjacency matrix.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+public class DensePrimTest {
+
+    /**
+     * Builds a random graph of a few parts, each a random tree plus random
+     * edges, some parts dense; the weights may be Integer.MIN_VALUE or
+     * Integer.MAX_VALUE.
+     *
+     * @param seed The random seed.
+     * @param maxWeight Whether Integer.MAX_VALUE weights are drawn too.
+     * @return The graph.
+     */
+    protected Graph randomGraph(long seed, boolean maxWeight) throws Exception {
+        Random randomGenerator = new Random(seed);
+        int parts = 1 + randomGenerator.nextInt(3), n = 0, m = 0, offset = 0, i, j;
+        int[] sizes = new int[parts], extras = new int[parts], gaps = new int[parts];
+        for (i = 0; i < parts; i++) {
+            sizes[i] = 1 + randomGenerator.nextInt(80);
+            extras[i] = randomGenerator.nextInt(sizes[i] * sizes[i]);
+            gaps[i] = randomGenerator.nextInt(2); // isolated vertices
+            n += sizes[i] + gaps[i];
+            m += sizes[i] - 1 + extras[i];
+        }
+        GraphBuilder builder = new GraphBuilder(n, m);
+        for (i = 0; i < parts; i++) {
+            for (j = 1; j < sizes[i]; j++) {
+                builder.addEdge(offset + j, offset + randomGenerator.nextInt(j), weight(randomGenerator, maxWeight));
+            }
+            for (j = 0; j < extras[i]; j++) {
+                builder.addEdge(offset + randomGenerator.nextInt(sizes[i]), offset + randomGenerator.nextInt(sizes[i]),
+                        weight(randomGenerator, maxWeight));
+            }
+            offset += sizes[i] + gaps[i];
+        }
+        return builder.build();
+    }
+
+    /**
+     * Draws a small weight, or now and then one of the extreme ones.
+     */
+    protected int weight(Random randomGenerator, boolean maxWeight) {
+        int p = randomGenerator.nextInt(20);
+        if (p == 0) {
+            return Integer.MIN_VALUE;
+        }
+        if (p == 1 && maxWeight) {
+            return Integer.MAX_VALUE;
+        }
+        return randomGenerator.nextInt(41) - 20;
+    }
+
+    /**
+     * Checks the matrix gives a forest of the same cost, components and
+     * component costs as Prim 's algorithm on a binary heap.
+     */
+    protected void assertSameForest(Graph graph, MstResult expected, MstResult result) {
+        UnionFind components = new UnionFind(graph.n);
+        assertEquals(expected.cost, result.cost);
+        assertEquals(expected.components, result.components);
+        assertEquals(expected.edgeCount, result.edgeCount);
+        long[] costs = Arrays.copyOf(expected.componentCosts, expected.components);
+        long[] otherCosts = Arrays.copyOf(result.componentCosts, result.components);
+        Arrays.sort(costs);
+        Arrays.sort(otherCosts);
+        assertArrayEquals(costs, otherCosts);
+        for (int i = 0; i < result.edgeCount; i++) {
+            boolean found = false;
+            for (int j = graph.offsets[result.tails[i]]; j < graph.offsets[result.tails[i] + 1]; j++) {
+                found |= graph.targets[j] == result.heads[i] && graph.weights[j] == result.weights[i];
+            }
+            assertTrue(found);
+            assertTrue(components.union(result.tails[i], result.heads[i]));
+        }
+    }
+
+    /**
+     * Test the matrix agrees with the heap on random dense forests, with and
+     * without edges of weight Integer.MAX_VALUE.
+     */
+    @Test
+    public void randomGraphsTest() throws Exception {
+        MstSolver heap = new MstSolver(), dense = new MstSolver("dense-prim", "binary", null);
+        for (long seed = 0; seed < 60; seed++) {
+            Graph graph = randomGraph(seed, seed % 2 == 1);
+            DenseGraph matrix = DenseGraph.fromGraph(graph);
+            if (seed % 2 == 0) {
+                assertEquals(0, matrix.maxWeightEdges);
+            }
+            MstResult expected = heap.solve(graph);
+            assertSameForest(graph, expected, dense.solve(matrix, new MstResult(0)));
+            assertSameForest(graph, expected, dense.solve(graph));
+        }
+    }
+
+    /**
+     * Test the matrix keeps the cheaper of parallel edges and drops self loops.
+     */
+    @Test
+    public void matrixTest() throws Exception {
+        DenseGraph graph = new DenseGraph(3);
+        graph.addEdge(0, 1, 5);
+        graph.addEdge(1, 0, 3);
+        graph.addEdge(1, 2, Integer.MAX_VALUE);
+        graph.addEdge(2, 2, -7);
+        assertEquals(2, graph.m);
+        assertEquals(3, graph.weight(0, 1));
+        assertEquals(3, graph.weight(1, 0));
+        assertTrue(graph.hasEdge(2, 1));
+        assertFalse(graph.hasEdge(0, 2));
+        assertFalse(graph.hasEdge(2, 2));
+        assertEquals(1, graph.maxWeightEdges);
+        MstResult result = new MstSolver().solve(graph, new MstResult(0));
+        assertTrue(result.isSpanningTree());
+        assertEquals(3L + Integer.MAX_VALUE, result.cost);
+    }
+
+    /**
+     * Test the bundled inputs give the expected costs when read into a matrix.
+     */
+    @Test
+    public void inputsTest() throws Exception {
+        String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+        long[] expected = {-27534, 37, -3612829};
+        MstSolver solver = new MstSolver();
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(expected[i], solver.solve(DenseGraph.load(inputs[i]), new MstResult(0)).cost);
+        }
+    }
+
+    /**
+     * Test which graphs are read into a matrix, and the errors of the matrix.
+     */
+    @Test
+    public void selectionTest() throws Exception {
+        File file = File.createTempFile("DensePrimTest", ".txt");
+        file.deleteOnExit();
+        FileWriter writer = new FileWriter(file);
+        writer.write("3 3\n1 2 1\n2 3 2\n1 3 3\n");
+        writer.close();
+        File binary = File.createTempFile("DensePrimTest", ".bin");
+        binary.deleteOnExit();
+        BinaryGraphFormat.write(GraphLoader.load(file.getPath()), binary.getPath());
+
+        MstSolver prim = new MstSolver(), kruskal = new MstSolver("kruskal", "binary", null);
+        assertTrue(prim.isDense(file.getPath()));
+        assertFalse(prim.isDense(binary.getPath()));
+        assertFalse(kruskal.isDense(file.getPath()));
+        assertTrue(prim.isDense(1000, 250000));
+        assertFalse(prim.isDense(1000, 249999));
+        assertFalse(prim.isDense(DenseGraph.MAX_VERTICES + 1, Long.MAX_VALUE));
+        prim.denseThreshold = Double.POSITIVE_INFINITY;
+        assertFalse(prim.isDense(file.getPath()));
+        assertEquals(3, prim.solve(DenseGraph.load(binary.getPath()), new MstResult(0)).cost);
+
+        try {
+            kruskal.solve(DenseGraph.load(file.getPath()), new MstResult(0));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The kruskal algorithm does not run on an adjacency matrix.", ex.getMessage());
+        }
+        try {
+            new DenseGraph(DenseGraph.MAX_VERTICES + 1);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("An adjacency matrix holds at most " + DenseGraph.MAX_VERTICES + " vertices.", ex.getMessage());
+        }
+    }
+}
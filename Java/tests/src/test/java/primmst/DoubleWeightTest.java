@@ -0,0 +1,106 @@
+package primmst;
+
+/**
+ * JUnit test for the floating point weight path.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.util.Random;
+
+public class DoubleWeightTest {
+
+    /**
+     * Test the parser reads every decimal form into the same double as
+     * Double.parseDouble.
+     */
+    @Test
+    public void parseTest() throws Exception {
+        String[] weights = {"0", "-0", "1", "+2.5", "-.125", "3.", "1e3", "1E-3", "-2.5e+2", "0.1", "0.3",
+            "123456789012345678901234", "0.000000000000000000000000123", "4.9e-324", "1.7976931348623157e308",
+            "1e400", "9007199254740993", "2.2250738585072011e-308", "3.14159265358979323846264338327950288"};
+        StringBuilder content = new StringBuilder(weights.length + 1 + " " + weights.length + "\n");
+        for (int i = 0; i < weights.length; i++) {
+            content.append("1 ").append(i + 2).append(' ').append(weights[i]).append('\n');
+        }
+        DoubleGraph graph = DoubleGraph.load(GraphFiles.writeFile(content.toString()));
+        for (int i = 0; i < weights.length; i++) {
+            double expected = Double.parseDouble(weights[i]);
+            assertEquals(weights[i], Double.doubleToLongBits(expected == 0 ? 0.0 : expected),
+                    Double.doubleToLongBits(graph.weights[graph.offsets[i + 1]]));
+        }
+
+        graph = DoubleGraph.load(GraphFiles.writeFile("3 3\n1 2 inf\n2 3 -Infinity\n1 3 +INF\n"));
+        assertEquals(Double.POSITIVE_INFINITY, graph.weights[0], 0);
+        assertEquals(Double.NEGATIVE_INFINITY, graph.weights[graph.offsets[2]], 0);
+    }
+
+    /**
+     * Test malformed weights and NaN are rejected.
+     */
+    @Test
+    public void errorTest() throws Exception {
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 NaN\n", "NaN weight on line 1");
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 -nan\n", "NaN weight on line 1");
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 1.5x\n", "Could not read weight on line 1");
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 1e\n", "Could not read weight on line 1");
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 .\n", "Could not read weight on line 1");
+        GraphFiles.assertError(DoubleGraph::load, "2 1\n1 2 infinite\n", "Could not read weight on line 1");
+        try {
+            new MstSolver("boruvka", "binary", null).solve(DoubleGraph.load(GraphFiles.writeFile("2 1\n1 2 0.5\n")));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The boruvka algorithm does not support floating point weights.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test prim and kruskal agree on random graphs with many equal weights,
+     * and the cost does not depend on the order of the input lines.
+     */
+    @Test
+    public void solveTest() throws Exception {
+        MstSolver prim = new MstSolver(), kruskal = new MstSolver("kruskal", "binary", null);
+        for (long seed = 0; seed < 20; seed++) {
+            Random randomGenerator = new Random(seed);
+            int n = 1 + randomGenerator.nextInt(200), m = n - 1 + randomGenerator.nextInt(4 * n), i;
+            int[] tails = new int[m], heads = new int[m], order = new int[m];
+            double[] weights = new double[m];
+            for (i = 0; i < m; i++) {
+                tails[i] = i < n - 1 ? i + 1 : randomGenerator.nextInt(n);
+                heads[i] = i < n - 1 ? randomGenerator.nextInt(i + 1) : randomGenerator.nextInt(n);
+                weights[i] = randomGenerator.nextInt(8) * 0.25 - 1;
+                order[i] = i;
+            }
+            DoubleGraph graph = DoubleGraph.build(n, m, tails, heads, weights);
+            DoubleMstResult result = prim.solve(graph);
+            assertEquals(n - 1, result.edgeCount);
+            assertEquals(1, result.components);
+            assertEquals(result.doubleCost, kruskal.solve(graph).doubleCost, 1e-9);
+            assertEquals(result.doubleCost, result.doubleComponentCosts[0], 0);
+            assertEquals(Double.valueOf(result.doubleCost), result.totalCost());
+            assertEquals(Double.valueOf(result.doubleCost), result.componentCost(0));
+
+            for (i = m - 1; i > 0; i--) { // shuffle the edges
+                int j = randomGenerator.nextInt(i + 1), aux = order[i];
+                order[i] = order[j];
+                order[j] = aux;
+            }
+            int[] shuffledTails = new int[m], shuffledHeads = new int[m];
+            double[] shuffledWeights = new double[m];
+            for (i = 0; i < m; i++) {
+                shuffledTails[i] = tails[order[i]];
+                shuffledHeads[i] = heads[order[i]];
+                shuffledWeights[i] = weights[order[i]];
+            }
+            DoubleMstResult other = prim.solve(DoubleGraph.build(n, m, shuffledTails, shuffledHeads, shuffledWeights));
+            assertEquals(result.doubleCost, other.doubleCost, 0);
+        }
+    }
+}
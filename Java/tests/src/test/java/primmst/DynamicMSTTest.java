@@ -0,0 +1,178 @@
+package primmst;
+
+/**
+ * JUnit test for the minimum spanning forest kept up to date under changes.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.util.Random;
+
+public class DynamicMSTTest {
+
+    protected MstSolver solver;
+
+    @Before
+    public void setUp() throws Exception {
+        this.solver = new MstSolver("kruskal", "binary", null);
+    }
+
+    /**
+     * Solves the live edges of a dynamic forest from scratch and checks the
+     * forest has the same cost and number of trees.
+     */
+    protected void assertSameAsRecompute(DynamicMST dynamic, int[] tails, int[] heads, int[] weights, boolean[] live)
+            throws Exception {
+        int m = 0, i;
+        for (i = 0; i < live.length; i++) {
+            m += live[i] ? 1 : 0;
+        }
+        GraphBuilder builder = new GraphBuilder(dynamic.n, m);
+        for (i = 0; i < live.length; i++) {
+            if (live[i]) {
+                builder.addEdge(tails[i], heads[i], weights[i]);
+            }
+        }
+        MstResult expected = this.solver.solve(builder.build());
+        assertEquals(expected.cost, dynamic.cost);
+        assertEquals(expected.components, dynamic.components);
+        assertEquals(m, dynamic.edgeCount);
+        assertEquals(dynamic.n - dynamic.components, dynamic.treeEdgeCount);
+
+        MstResult forest = dynamic.toResult(new MstResult(0));
+        assertEquals(expected.cost, forest.cost);
+        assertEquals(expected.components, forest.components);
+    }
+
+    /**
+     * Test random insertions, removals and weight changes against a full
+     * recompute after every change.
+     */
+    @Test
+    public void randomChangesTest() throws Exception {
+        Random randomGenerator = new Random(1);
+        for (long seed = 0; seed < 30; seed++) {
+            int n = 1 + randomGenerator.nextInt(40), changes = 400, e, p;
+            int[] tails = new int[changes], heads = new int[changes], weights = new int[changes];
+            boolean[] live = new boolean[changes];
+            DynamicMST dynamic = new DynamicMST(n);
+            for (int i = 0; i < changes; i++) {
+                p = randomGenerator.nextInt(10);
+                e = randomGenerator.nextInt(changes);
+                if (p < 5 || dynamic.edgeCount == 0) {
+                    int tail = randomGenerator.nextInt(n), head = randomGenerator.nextInt(n), weight = randomGenerator.nextInt(21) - 10;
+                    e = dynamic.addEdge(tail, head, weight);
+                    assertFalse(live[e]);
+                    tails[e] = tail;
+                    heads[e] = head;
+                    weights[e] = weight;
+                    live[e] = true;
+                } else if (!live[e]) {
+                    continue;
+                } else if (p < 7) {
+                    dynamic.removeEdge(e);
+                    live[e] = false;
+                } else {
+                    weights[e] = randomGenerator.nextInt(21) - 10;
+                    dynamic.setWeight(e, weights[e]);
+                    assertEquals(weights[e], dynamic.weight(e));
+                }
+                assertSameAsRecompute(dynamic, tails, heads, weights, live);
+            }
+        }
+    }
+
+    /**
+     * Test a forest started from a solved graph follows the changes made to it.
+     */
+    @Test
+    public void fromTreeTest() throws Exception {
+        Graph graph = GraphLoader.load("../../in/inputBig.txt");
+        MstResult tree = new MstSolver().solve(graph);
+        DynamicMST dynamic = new DynamicMST(graph, tree);
+        assertEquals(-3612829, dynamic.cost);
+        assertEquals(1, dynamic.components);
+        for (int i = 0; i < tree.edgeCount; i++) {
+            assertTrue(dynamic.isTreeEdge(i));
+        }
+
+        /* a cheap edge goes in, making a tree edge on the path go out */
+        int e = dynamic.addEdge(tree.tails[0], tree.heads[1], Integer.MIN_VALUE);
+        assertTrue(dynamic.isTreeEdge(e));
+        assertEquals(e, dynamic.findEdge(tree.heads[1], tree.tails[0]));
+        dynamic.removeEdge(e);
+        assertEquals(-3612829, dynamic.cost);
+        assertEquals(1, dynamic.components);
+
+        /* removing a tree edge is made up for, or splits the tree */
+        Random randomGenerator = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            long before = dynamic.cost;
+            e = randomGenerator.nextInt(tree.edgeCount);
+            if (dynamic.isTreeEdge(e)) {
+                dynamic.setWeight(e, dynamic.weight(e) + 1000000);
+                assertTrue(dynamic.cost > before || dynamic.components > 1 || !dynamic.isTreeEdge(e));
+            }
+        }
+        MstResult forest = dynamic.toResult(new MstResult(0));
+        assertEquals(dynamic.cost, forest.cost);
+    }
+
+    /**
+     * Test the errors of the dynamic forest.
+     */
+    @Test
+    public void errorTest() throws Exception {
+        DynamicMST dynamic = new DynamicMST(3);
+        int e = dynamic.addEdge(0, 1, 5);
+        dynamic.removeEdge(e);
+        try {
+            dynamic.removeEdge(e);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Edge 0 does not exist.", ex.getMessage());
+        }
+        try {
+            dynamic.addEdge(0, 3, 1);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Vertex 3 does not exist.", ex.getMessage());
+        }
+        GraphBuilder builder = new GraphBuilder(3, 2);
+        builder.addEdge(0, 1, 1);
+        builder.addEdge(1, 2, 2);
+        MstResult tree = new MstResult(3);
+        tree.addEdge(0, 2, 1);
+        try {
+            new DynamicMST(builder.build(), tree);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The tree does not belong to the graph.", ex.getMessage());
+        }
+        tree.clear();
+        tree.addEdge(0, 1, 1);
+        tree.addEdge(1, 0, 1);
+        try {
+            new DynamicMST(builder.build(), tree);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The tree has a cycle.", ex.getMessage());
+        }
+        MstResult[] wide = {new LongMstResult(3), new DoubleMstResult(3)};
+        for (int i = 0; i < wide.length; i++) {
+            wide[i].addEdge(0, 1, 1);
+            try {
+                new DynamicMST(builder.build(), wide[i]);
+                fail("Exception was expected to be thrown.");
+            } catch (Exception ex) {
+                assertEquals("The tree must have int weights.", ex.getMessage());
+            }
+        }
+    }
+}
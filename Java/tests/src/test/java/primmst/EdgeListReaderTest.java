@@ -0,0 +1,73 @@
+package primmst;
+
+/**
+ * JUnit test for EdgeListReader.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.util.concurrent.ForkJoinPool;
+
+public class EdgeListReaderTest {
+
+    /**
+     * Test a well formed file is read into the CSR arrays.
+     */
+    @Test
+    public void readTest() throws Exception {
+        Graph graph = GraphLoader.load(GraphFiles.writeFile("3 3\r\n1 2 -5\r\n2   3\t+7 trailing\n3 3 2147483647"));
+        assertEquals(3, graph.n);
+        assertEquals(3, graph.m);
+        assertArrayEquals(new int[] {0, 1, 3, 6}, graph.offsets);
+        assertArrayEquals(new int[] {1, 0, 2, 1, 2, 2}, graph.targets);
+        assertArrayEquals(new int[] {-5, -5, 7, 7, Integer.MAX_VALUE, Integer.MAX_VALUE}, graph.weights);
+    }
+
+    /**
+     * Test a file large enough to be parsed in parallel loads into the same
+     * arrays every time, and the same as on one thread, neighbours in the
+     * order of the edges.
+     */
+    @Test
+    public void parallelLoadTest() throws Exception {
+        File file = File.createTempFile("EdgeListReaderTest", ".txt");
+        file.deleteOnExit();
+        new GraphGenerator("gnm", 200000, 800000, 1, 3, 1, false).writeText(file.getPath());
+        assertTrue(file.length() >= 2 * ParallelEdgeListLoader.MIN_RANGE_SIZE);
+        ForkJoinPool pool = new ForkJoinPool(8);
+        Graph graph = GraphLoader.load(file.getPath(), pool), other = GraphLoader.load(file.getPath(), pool);
+        Graph sequential = GraphLoader.load(file.getPath(), new ForkJoinPool(1));
+        assertArrayEquals(graph.offsets, other.offsets);
+        assertArrayEquals(graph.targets, other.targets);
+        assertArrayEquals(graph.weights, other.weights);
+        assertArrayEquals(sequential.offsets, graph.offsets);
+        assertArrayEquals(sequential.targets, graph.targets);
+        assertArrayEquals(sequential.weights, graph.weights);
+        pool.shutdown();
+    }
+
+    /**
+     * Test the error messages for malformed files.
+     */
+    @Test
+    public void errorsTest() throws Exception {
+        GraphFiles.assertError(GraphLoader::load, "", "Could not read number of vertices the graph has.");
+        GraphFiles.assertError(GraphLoader::load, "x 1", "Could not read number of vertices the graph has.");
+        GraphFiles.assertError(GraphLoader::load, "3", "Could not read number of edges the graph has.");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 5\n", "Could not read edge on line 2");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 5\n\n", "Could not read vertex 1 on line 2");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 5\n2", "Could not read vertex 2 on line 2");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 5\n2 3\n1 2 3", "Could not read weight on line 2");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 5\n2 3 4x\n", "Could not read weight on line 2");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 2 99999999999\n", "Could not read weight on line 1");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n0 2 5\n", "Invalid vertex 1 on line 1");
+        GraphFiles.assertError(GraphLoader::load, "3 2\n1 4 5\n", "Invalid vertex 2 on line 1");
+    }
+}
@@ -0,0 +1,126 @@
+package primmst;
+
+/**
+ * JUnit test for the out of core Kruskal engine.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+
+public class ExternalKruskalMSTTest {
+
+    protected File tempDir;
+
+    @Before
+    public void setUp() throws Exception {
+        this.tempDir = Files.createTempDirectory("ExternalKruskalMSTTest").toFile();
+        this.tempDir.deleteOnExit();
+    }
+
+    /**
+     * Test the bundled inputs give the expected costs whatever the run size,
+     * and the spill files are gone afterwards.
+     */
+    @Test
+    public void inputsTest() throws Exception {
+        String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+        long[] expected = {-27534, 37, -3612829};
+        int[] runSizes = {1, 7, 1000, ExternalKruskalMST.DEFAULT_RUN_SIZE};
+        MstResult result = new MstResult(0);
+        for (int i = 0; i < inputs.length; i++) {
+            for (int j = 0; j < runSizes.length; j++) {
+                ExternalKruskalMST external = new ExternalKruskalMST(runSizes[j], this.tempDir);
+                external.mergeMemory = 0; // the smallest buffers, refilled often
+                assertEquals(expected[i], external.solve(inputs[i], result).cost);
+                assertTrue(result.isSpanningTree());
+                assertEquals(result.n - 1, result.edgeCount);
+                assertEquals(0, this.tempDir.list().length);
+            }
+        }
+    }
+
+    /**
+     * Test generated graphs, some disconnected, give the same forest as the
+     * in memory path, and a connected graph stops the merge early.
+     */
+    @Test
+    public void generatedGraphsTest() throws Exception {
+        File file = File.createTempFile("ExternalKruskalMSTTest", ".txt");
+        file.deleteOnExit();
+        MstSolver solver = new MstSolver();
+        for (long seed = 0; seed < 10; seed++) {
+            GraphGenerator generator = new GraphGenerator(seed % 2 == 0 ? "gnm" : "rmat", 2000, 20000, -50, 50, seed, seed % 3 == 0);
+            generator.writeText(file.getPath());
+            MstResult expected = solver.solve(GraphLoader.load(file.getPath()));
+            ExternalKruskalMST external = new ExternalKruskalMST(1500, this.tempDir);
+            MstResult result = external.solve(file.getPath(), new MstResult(0));
+            assertEquals(expected.cost, result.cost);
+            assertEquals(expected.components, result.components);
+            assertEquals(14, external.runs);
+            if (expected.isSpanningTree()) {
+                assertTrue(external.merged < generator.m);
+            }
+        }
+    }
+
+    /**
+     * Test a graph already loaded, on the heap or off it, gives the same
+     * tree as the in memory Kruskal whatever the run size.
+     */
+    @Test
+    public void graphTest() throws Exception {
+        String input = "../../in/inputBig.txt";
+        Graph graph = GraphLoader.load(input);
+        OffHeapGraph offHeap = OffHeapGraph.load(input, null);
+        MstResult expected = new MstSolver("kruskal", "binary", null).solve(graph);
+        int[] runSizes = {1, 7, 1000, ExternalKruskalMST.DEFAULT_RUN_SIZE};
+        for (int j = 0; j < runSizes.length; j++) {
+            ExternalKruskalMST external = new ExternalKruskalMST(runSizes[j], this.tempDir);
+            MstResult result = external.solve(offHeap, new MstResult(0));
+            assertEquals(expected.cost, result.cost);
+            assertEquals(expected.edgeCount, result.edgeCount);
+            assertEquals(0, this.tempDir.list().length);
+            assertEquals(expected.cost, external.solve(graph, result).cost);
+        }
+        offHeap.close();
+    }
+
+    /**
+     * Test the errors of the external engine.
+     */
+    @Test
+    public void errorTest() throws Exception {
+        try {
+            new ExternalKruskalMST(0, null);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The run size must be positive.", ex.getMessage());
+        }
+        File file = File.createTempFile("ExternalKruskalMSTTest", ".txt");
+        file.deleteOnExit();
+        FileWriter writer = new FileWriter(file);
+        writer.write("3 3\n1 2 1\n2 3 1\n1 x 2\n");
+        writer.close();
+        try {
+            new ExternalKruskalMST(1, this.tempDir).solve(file.getPath(), new MstResult(0));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals(0, this.tempDir.list().length);
+        }
+        try {
+            new ExternalKruskalMST(1, new File(this.tempDir, "missing")).solve(file.getPath(), new MstResult(0));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals(0, this.tempDir.list().length);
+        }
+    }
+}
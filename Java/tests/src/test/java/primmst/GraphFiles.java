@@ -0,0 +1,56 @@
+package primmst;
+
+/**
+ * Temporary graph files for the JUnit tests, shared by the test classes.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import java.io.File;
+import java.io.FileWriter;
+
+public class GraphFiles {
+
+    /**
+     * Reads a graph file, like GraphLoader.load or DoubleGraph.load.
+     */
+    public interface Loader {
+        public void load(String file) throws Exception;
+    }
+
+    /**
+     * Writes a temporary input file.
+     *
+     * @param content The file 's content.
+     * @return The file 's path.
+     */
+    public static String writeFile(String content) throws Exception {
+        File file = File.createTempFile("GraphFiles", ".txt");
+        file.deleteOnExit();
+        FileWriter writer = new FileWriter(file);
+        writer.write(content);
+        writer.close();
+        return file.getPath();
+    }
+
+    /**
+     * Reads a graph expected to be malformed and checks the error message.
+     *
+     * @param loader How to read the graph.
+     * @param content The file 's content.
+     * @param message The expected error message.
+     */
+    public static void assertError(Loader loader, String content, String message) throws Exception {
+        try {
+            loader.load(writeFile(content));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+}
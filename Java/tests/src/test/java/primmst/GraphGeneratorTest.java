@@ -0,0 +1,111 @@
+package primmst;
+
+/**
+ * JUnit test for GraphGenerator.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.nio.file.Files;
+
+public class GraphGeneratorTest {
+
+    /**
+     * Test every family writes the same graph in text and binary format, the
+     * binary file being the one the converter writes, and the same file
+     * again for the same seed.
+     */
+    @Test
+    public void familiesTest() throws Exception {
+        File text = File.createTempFile("GraphGeneratorTest", ".txt"), binary = File.createTempFile("GraphGeneratorTest", ".bin"),
+                converted = File.createTempFile("GraphGeneratorTest", ".bin");
+        text.deleteOnExit();
+        binary.deleteOnExit();
+        converted.deleteOnExit();
+        for (int i = 0; i < GraphGenerator.FAMILIES.length; i++) {
+            GraphGenerator generator = new GraphGenerator(GraphGenerator.FAMILIES[i], 777, 3000, -5, 5, i, true);
+            generator.writeText(text.getPath());
+            generator.writeBinary(binary.getPath());
+            Graph graph = GraphLoader.load(text.getPath());
+            assertEquals(777, graph.n);
+            assertEquals(generator.m, graph.m);
+            BinaryGraphFormat.write(graph, converted.getPath());
+            assertArrayEquals(Files.readAllBytes(converted.toPath()), Files.readAllBytes(binary.toPath()));
+
+            MstResult result = new MstSolver().solve(graph);
+            assertTrue(result.isSpanningTree());
+            assertEquals(result.cost, new MstSolver().solve(GraphLoader.load(binary.getPath())).cost);
+
+            new GraphGenerator(GraphGenerator.FAMILIES[i], 777, 3000, -5, 5, i, true).writeBinary(converted.getPath());
+            assertArrayEquals(Files.readAllBytes(converted.toPath()), Files.readAllBytes(binary.toPath()));
+        }
+    }
+
+    /**
+     * Test the sizes of the grid and complete families and the weight range.
+     */
+    @Test
+    public void sizesTest() throws Exception {
+        int[] sizes = {1, 2, 3, 4, 5, 10, 99, 100, 101};
+        GraphGenerator generator;
+        long count;
+        for (int i = 0; i < sizes.length; i++) {
+            generator = new GraphGenerator("grid", sizes[i], 0, 3, 4, 1, false);
+            for (count = 0; generator.next(); count++) {
+                assertTrue(generator.tail < generator.head && generator.head < sizes[i]);
+                assertTrue(generator.weight == 3 || generator.weight == 4);
+            }
+            assertEquals(generator.m, count);
+            assertEquals(sizes[i] - 1, new MstSolver().solve(GraphLoader.load(write(generator))).edgeCount);
+            generator = new GraphGenerator("complete", sizes[i], 0, Integer.MIN_VALUE, Integer.MAX_VALUE, 1, false);
+            for (count = 0; generator.next(); count++) {
+                assertTrue(generator.tail < generator.head && generator.head < sizes[i]);
+            }
+            assertEquals((long) sizes[i] * (sizes[i] - 1) / 2, count);
+        }
+        try {
+            new GraphGenerator("tree", 10, 10, 0, 1, 1, false);
+            fail("Expected exception to be thrown");
+        } catch (Exception ex) {
+            assertEquals("Unknown graph family tree.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test connected leaves the grid and complete families alone: the same
+     * edges and weights come out with and without it.
+     */
+    @Test
+    public void connectedTest() throws Exception {
+        String[] families = {"grid", "complete"};
+        int[] sizes = {1, 2, 9, 50, 101};
+        for (int i = 0; i < families.length; i++) {
+            for (int j = 0; j < sizes.length; j++) {
+                GraphGenerator plain = new GraphGenerator(families[i], sizes[j], 0, -5, 5, j, false);
+                GraphGenerator connected = new GraphGenerator(families[i], sizes[j], 0, -5, 5, j, true);
+                assertEquals(plain.m, connected.m);
+                while (plain.next()) {
+                    assertTrue(connected.next());
+                    assertEquals(plain.tail, connected.tail);
+                    assertEquals(plain.head, connected.head);
+                    assertEquals(plain.weight, connected.weight);
+                }
+                assertFalse(connected.next());
+            }
+        }
+    }
+
+    private String write(GraphGenerator generator) throws Exception {
+        File file = File.createTempFile("GraphGeneratorTest", ".txt");
+        file.deleteOnExit();
+        generator.writeText(file.getPath());
+        return file.getPath();
+    }
+}
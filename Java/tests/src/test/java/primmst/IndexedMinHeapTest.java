@@ -0,0 +1,165 @@
+package primmst;
+
+/**
+ * JUnit test for IndexedMinHeap.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.util.Random;
+
+public class IndexedMinHeapTest {
+
+    /**
+     * Checks the min heap property and the positions map.
+     *
+     * @param heap The heap to check.
+     */
+    protected void assertHeap(IndexedMinHeap heap) {
+        for (int j = 0; j < heap.lastFreePos; j++) {
+            assertEquals(j, heap.positions[heap.vertices[j]]);
+            if (2 * j + 1 < heap.lastFreePos) {
+                assertTrue(heap.key(heap.vertices[j]) <= heap.key(heap.vertices[2 * j + 1]));
+            }
+            if (2 * j + 2 < heap.lastFreePos) {
+                assertTrue(heap.key(heap.vertices[j]) <= heap.key(heap.vertices[2 * j + 2]));
+            }
+        }
+    }
+
+    /**
+     * Test constructor, that all variables are initialized properly.
+     */
+    @Test
+    public void constructorTest() {
+        IndexedMinHeap heap = new IndexedMinHeap(100);
+        assertEquals(heap.size(), 0);
+        assertEquals(heap.vertices.length, 100);
+        assertEquals(heap.positions.length, 100);
+        for (int i = 0; i < 100; i++) {
+            assertFalse(heap.contains(i));
+        }
+    }
+
+    /**
+     * Test case for IndexedMinHeap.insert();
+     */
+    @Test
+    public void insertTest() {
+        int i, heapDimension, min = Integer.MAX_VALUE, x;
+        Random randomGenerator = new Random();
+        heapDimension = 100 + randomGenerator.nextInt(200);
+        IndexedMinHeap heap = new IndexedMinHeap(heapDimension);
+        for (i = 0; i < heapDimension; i++) {
+            x = randomGenerator.nextInt(200) - 100;
+            min = Math.min(min, x);
+            try {
+                heap.insert(i, x);
+            } catch (Exception ex) {
+                fail("Exception was not expected to be thrown.");
+            }
+            assertEquals(heap.size(), i + 1);
+            assertTrue(heap.contains(i));
+            assertEquals(heap.key(heap.vertices[0]), min);
+            assertHeap(heap);
+        }
+
+        try {
+            heap.insert(0, 3);
+            fail("Heap should be full.");
+        } catch (Exception ex) {
+            assertEquals(ex.getMessage(), "Heap overflow");
+        }
+    }
+
+    /**
+     * Test case for IndexedMinHeap.extractMin();
+     */
+    @Test
+    public void extractMinTest() {
+        int i, heapDimension, vertex = -1, previous = Integer.MIN_VALUE;
+        Random randomGenerator = new Random();
+        heapDimension = 100 + randomGenerator.nextInt(200);
+        IndexedMinHeap heap = new IndexedMinHeap(heapDimension);
+
+        try {
+            heap.extractMin();
+            fail("Heap should be empty.");
+        } catch (Exception ex) {
+            assertEquals(ex.getMessage(), "Empty heap");
+        }
+
+        try {
+            for (i = 0; i < heapDimension; i++) {
+                heap.insert(i, randomGenerator.nextInt(200));
+            }
+        } catch (Exception ex) {
+            fail("Exception was not expected to be thrown.");
+        }
+
+        for (i = 0; i < heapDimension; i++) {
+            try {
+                vertex = heap.extractMin();
+            } catch (Exception ex) {
+                fail("Exception was not expected to be thrown.");
+            }
+            assertEquals(heap.size(), heapDimension - i - 1);
+            assertFalse(heap.contains(vertex));
+            assertTrue(heap.key(vertex) >= previous);
+            previous = heap.key(vertex);
+            assertHeap(heap);
+        }
+    }
+
+    /**
+     * Test case for IndexedMinHeap.decreaseKey();
+     */
+    @Test
+    public void decreaseKeyTest() {
+        int i, heapDimension, vertex, key;
+        Random randomGenerator = new Random();
+        heapDimension = 100 + randomGenerator.nextInt(200);
+        IndexedMinHeap heap = new IndexedMinHeap(heapDimension);
+
+        try {
+            heap.decreaseKey(0, 1);
+            fail("Vertex should not be in heap.");
+        } catch (Exception ex) {
+            assertEquals(ex.getMessage(), "Vertex not in heap");
+        }
+
+        try {
+            for (i = 0; i < heapDimension; i++) {
+                heap.insert(i, randomGenerator.nextInt(200));
+            }
+        } catch (Exception ex) {
+            fail("Exception was not expected to be thrown.");
+        }
+
+        try {
+            heap.decreaseKey(0, heap.key(0) + 1);
+            fail("Key should not be allowed to grow.");
+        } catch (Exception ex) {
+            assertEquals(ex.getMessage(), "New key is greater than current key");
+        }
+
+        for (i = 0; i < heapDimension; i++) {
+            vertex = randomGenerator.nextInt(heapDimension);
+            key = heap.key(vertex) - randomGenerator.nextInt(50);
+            try {
+                heap.decreaseKey(vertex, key);
+            } catch (Exception ex) {
+                fail("Exception was not expected to be thrown.");
+            }
+            assertEquals(heap.key(vertex), key);
+            assertEquals(heap.size(), heapDimension);
+            assertHeap(heap);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package primmst;
+
+/**
+ * JUnit test for the IndexedPriorityQueue implementations.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.util.Random;
+
+public class IndexedPriorityQueueTest {
+
+    protected String[] heapNames = {"binary", "2-ary", "4-ary", "8-ary", "pairing", "fibonacci"};
+
+    /**
+     * Runs random inserts, decrease keys and extract mins on a heap and checks
+     * every extracted vertex against a linear scan over the expected keys.
+     *
+     * @param heapName The heap strategy to test.
+     * @param seed The random seed.
+     */
+    protected void randomOperations(String heapName, long seed) throws Exception {
+        int i, j, vertex, min, heapDimension;
+        Random randomGenerator = new Random(seed);
+        heapDimension = 100 + randomGenerator.nextInt(200);
+        IndexedPriorityQueue heap = MstSolver.createHeap(heapName, heapDimension);
+        int[] keys = new int[heapDimension];
+        boolean[] inHeap = new boolean[heapDimension];
+        int size = 0;
+
+        for (i = 0; i < 20 * heapDimension; i++) {
+            vertex = randomGenerator.nextInt(heapDimension);
+            switch (randomGenerator.nextInt(3)) {
+                case 0: // insert
+                    if (!inHeap[vertex]) {
+                        keys[vertex] = randomGenerator.nextInt(1000) - 500;
+                        heap.insert(vertex, keys[vertex]);
+                        inHeap[vertex] = true;
+                        size++;
+                    }
+                    break;
+                case 1: // decrease key
+                    if (inHeap[vertex]) {
+                        keys[vertex] -= randomGenerator.nextInt(100);
+                        heap.decreaseKey(vertex, keys[vertex]);
+                    }
+                    break;
+                default: // extract min
+                    if (size > 0) {
+                        min = Integer.MAX_VALUE;
+                        for (j = 0; j < heapDimension; j++) {
+                            if (inHeap[j] && keys[j] < min) {
+                                min = keys[j];
+                            }
+                        }
+                        vertex = heap.extractMin();
+                        assertTrue(inHeap[vertex]);
+                        assertEquals(min, keys[vertex]);
+                        assertEquals(min, heap.key(vertex));
+                        inHeap[vertex] = false;
+                        size--;
+                    }
+            }
+            assertEquals(size, heap.size());
+            assertEquals(inHeap[vertex], heap.contains(vertex));
+        }
+    }
+
+    /**
+     * Test that every heap strategy extracts vertices in key order.
+     */
+    @Test
+    public void randomOperationsTest() {
+        for (int i = 0; i < this.heapNames.length; i++) {
+            for (long seed = 0; seed < 10; seed++) {
+                try {
+                    randomOperations(this.heapNames[i], seed);
+                } catch (Exception ex) {
+                    fail(this.heapNames[i] + ": exception was not expected to be thrown.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Test the errors every heap strategy reports.
+     */
+    @Test
+    public void errorsTest() throws Exception {
+        IndexedPriorityQueue heap;
+        for (int i = 0; i < this.heapNames.length; i++) {
+            heap = MstSolver.createHeap(this.heapNames[i], 2);
+            try {
+                heap.extractMin();
+                fail("Heap should be empty.");
+            } catch (Exception ex) {
+                assertEquals(ex.getMessage(), "Empty heap");
+            }
+            heap.insert(0, 5);
+            try {
+                heap.decreaseKey(0, 6);
+                fail("Key should not be allowed to grow.");
+            } catch (Exception ex) {
+                assertEquals(ex.getMessage(), "New key is greater than current key");
+            }
+            try {
+                heap.decreaseKey(1, 6);
+                fail("Vertex should not be in heap.");
+            } catch (Exception ex) {
+                assertEquals(ex.getMessage(), "Vertex not in heap");
+            }
+            heap.insert(1, 7);
+            try {
+                heap.insert(0, 3);
+                fail("Heap should be full.");
+            } catch (Exception ex) {
+                assertEquals(ex.getMessage(), "Heap overflow");
+            }
+        }
+        try {
+            MstSolver.createHeap("ternary", 2);
+            fail("Heap should be unknown.");
+        } catch (Exception ex) {
+            assertEquals(ex.getMessage(), "Unknown heap ternary.");
+        }
+    }
+}
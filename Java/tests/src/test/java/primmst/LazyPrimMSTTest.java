@@ -0,0 +1,93 @@
+package primmst;
+
+/**
+ * JUnit test for lazy Prim 's algorithm and its packed heap.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LazyPrimMSTTest {
+
+    /**
+     * Test the packed heap gives its entries back in order of key, then of
+     * vertex, while growing past its initial dimension.
+     */
+    @Test
+    public void packedHeapTest() throws Exception {
+        Random randomGenerator = new Random(3);
+        PackedMinHeap heap = new PackedMinHeap(0);
+        long[] entries = new long[1000];
+        for (int i = 0; i < entries.length; i++) {
+            int p = randomGenerator.nextInt(10);
+            int key = p == 0 ? Integer.MIN_VALUE : p == 1 ? Integer.MAX_VALUE : randomGenerator.nextInt(201) - 100;
+            entries[i] = PackedMinHeap.pack(key, randomGenerator.nextInt(Integer.MAX_VALUE));
+            assertEquals(key, PackedMinHeap.key(entries[i]));
+            heap.insert(entries[i]);
+        }
+        assertEquals(entries.length, heap.size());
+        assertTrue(heap.capacity() >= entries.length);
+        Arrays.sort(entries);
+        for (int i = 0; i < entries.length; i++) {
+            assertEquals(entries[i], heap.extractMin());
+        }
+        assertEquals(0, heap.size());
+        try {
+            heap.extractMin();
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Empty heap", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test the bundled inputs give the expected costs.
+     */
+    @Test
+    public void inputsTest() throws Exception {
+        String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+        long[] expected = {-27534, 37, -3612829};
+        MstSolver solver = new MstSolver("lazy-prim", "binary", null);
+        MstResult result = new MstResult(0);
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(expected[i], solver.solve(GraphLoader.load(inputs[i]), result).cost);
+            assertTrue(result.isSpanningTree());
+            assertEquals(result.n - 1, result.edgeCount);
+            assertEquals(expected[i], solver.solve(OffHeapGraph.load(inputs[i], null), result).cost);
+        }
+    }
+
+    /**
+     * Test generated graphs, some disconnected, give the same forest as
+     * Prim 's algorithm on the indexed heap.
+     */
+    @Test
+    public void generatedGraphsTest() throws Exception {
+        File file = File.createTempFile("LazyPrimMSTTest", ".txt");
+        file.deleteOnExit();
+        MstSolver prim = new MstSolver(), lazy = new MstSolver("lazy-prim", "binary", null);
+        for (long seed = 0; seed < 10; seed++) {
+            new GraphGenerator(seed % 2 == 0 ? "gnm" : "rmat", 3000, 3000 + 3000 * seed, Integer.MIN_VALUE,
+                    Integer.MAX_VALUE, seed, seed % 3 == 0).writeText(file.getPath());
+            Graph graph = GraphLoader.load(file.getPath());
+            MstResult expected = prim.solve(graph), result = lazy.solve(graph);
+            assertEquals(expected.cost, result.cost);
+            assertEquals(expected.components, result.components);
+            assertEquals(expected.edgeCount, result.edgeCount);
+            long[] costs = Arrays.copyOf(expected.componentCosts, expected.components);
+            long[] otherCosts = Arrays.copyOf(result.componentCosts, result.components);
+            Arrays.sort(costs);
+            Arrays.sort(otherCosts);
+            assertArrayEquals(costs, otherCosts);
+        }
+    }
+}
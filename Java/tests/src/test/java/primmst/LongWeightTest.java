@@ -0,0 +1,103 @@
+package primmst;
+
+/**
+ * JUnit test for the 64 bit weight path.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.util.Arrays;
+
+public class LongWeightTest {
+
+    protected String graph = "4 6\n1 2 5000000000\n2 3 -9000000000000000000\n3 4 4000000000\n"
+            + "1 3 6000000000\n1 4 9223372036854775807\n4 4 1\n";
+    protected long expected = -8999999991000000000L;
+
+    /**
+     * Test weights beyond 32 bits are read and solved by both algorithms, on
+     * the heap and off heap.
+     */
+    @Test
+    public void solveTest() throws Exception {
+        String file = GraphFiles.writeFile(this.graph);
+        File storage = File.createTempFile("LongWeightTest", ".pmsl");
+        storage.deleteOnExit();
+        MstSolver prim = new MstSolver("prim", "binary", null), kruskal = new MstSolver("kruskal", "binary", null);
+        LongGraph graph = LongGraph.load(file);
+        assertArrayEquals(new long[] {5000000000L, 6000000000L, Long.MAX_VALUE}, Arrays.copyOf(graph.weights, 3));
+
+        LongMstResult result = prim.solve(graph);
+        assertEquals(expected, result.cost);
+        assertEquals(3, result.edgeCount);
+        assertTrue(result.isSpanningTree());
+        assertEquals(expected, result.componentCosts[0]);
+        assertEquals(expected, kruskal.solve(graph).cost);
+        assertEquals(expected, prim.solve(LongOffHeapGraph.load(file, null)).cost);
+
+        LongOffHeapGraph stored = LongOffHeapGraph.load(file, storage.getPath());
+        stored.close();
+        assertTrue(LongOffHeapGraph.isLongOffHeapGraph(storage.getPath()));
+        assertFalse(OffHeapGraph.isOffHeapGraph(storage.getPath()));
+        stored = new LongOffHeapGraph(storage.getPath());
+        assertEquals(expected, kruskal.solve(stored).cost);
+        stored.close();
+    }
+
+    /**
+     * Test the long path agrees with the int path on the bundled inputs.
+     */
+    @Test
+    public void intInputTest() throws Exception {
+        MstSolver prim = new MstSolver();
+        String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+        for (int i = 0; i < inputs.length; i++) {
+            assertEquals(prim.solve(GraphLoader.load(inputs[i])).cost, prim.solve(LongGraph.load(inputs[i])).cost);
+        }
+    }
+
+    /**
+     * Test a tree written with 64 bit weights reads back with the same cost.
+     */
+    @Test
+    public void writeTest() throws Exception {
+        File out = File.createTempFile("LongWeightTest", ".txt");
+        out.deleteOnExit();
+        LongMstResult result = new MstSolver().solve(LongGraph.load(GraphFiles.writeFile("2 1\n1 2 -9223372036854775808\n")));
+        assertEquals(Long.MIN_VALUE, result.cost);
+        MstWriter.write(result, out.getPath());
+        assertEquals(Long.MIN_VALUE, LongGraph.load(out.getPath()).weights[0]);
+    }
+
+    /**
+     * Test the errors of the long path.
+     */
+    @Test
+    public void errorTest() throws Exception {
+        try {
+            new MstSolver().solve(LongGraph.load(GraphFiles.writeFile("3 2\n1 2 9223372036854775807\n2 3 1\n")));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The cost of the tree does not fit 64 bits.", ex.getMessage());
+        }
+        try {
+            LongGraph.load(GraphFiles.writeFile("2 1\n1 2 9223372036854775808\n"));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Could not read weight on line 1", ex.getMessage());
+        }
+        try {
+            new MstSolver("boruvka", "binary", null).solve(LongGraph.load(GraphFiles.writeFile(this.graph)));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The boruvka algorithm does not support 64 bit weights.", ex.getMessage());
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package primmst;
+
 /**
  * JUnit test for MinHeap.
  *
@@ -0,0 +1,296 @@
+package primmst;
+
+/**
+ * JUnit test comparing the MST algorithms.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class MstTest {
+
+    protected String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+    protected long[] expected = {-27534, 37, -3612829};
+    protected ForkJoinPool pool = new ForkJoinPool(4);
+    protected Graph lastGraph;
+    protected long lastCost;
+
+    /**
+     * Builds a random connected graph: a random path through all vertices
+     * plus random edges, with small weights so that many are duplicates.
+     *
+     * @param seed The random seed.
+     * @return The graph.
+     */
+    protected Graph randomGraph(long seed) throws Exception {
+        Random randomGenerator = new Random(seed);
+        int n = 1 + randomGenerator.nextInt(300), extra = randomGenerator.nextInt(5 * n), i;
+        GraphBuilder builder = new GraphBuilder(n, n - 1 + extra);
+        for (i = 1; i < n; i++) {
+            builder.addEdge(i, randomGenerator.nextInt(i), randomGenerator.nextInt(41) - 20);
+        }
+        for (i = 0; i < extra; i++) {
+            builder.addEdge(randomGenerator.nextInt(n), randomGenerator.nextInt(n), randomGenerator.nextInt(41) - 20);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs Prim 's algorithm on a heap strategy.
+     */
+    protected MstResult prim(Graph graph, String heapName) throws Exception {
+        IndexedPriorityQueue heap = MstSolver.createHeap(heapName, graph.n);
+        return MstSolver.prim(graph, heap, new MstResult(graph.n), new boolean[graph.n], new int[graph.n]);
+    }
+
+    /**
+     * Runs every algorithm and checks they return spanning trees of the same cost.
+     *
+     * @param graph The graph, connected.
+     * @return The cost.
+     */
+    protected long allAlgorithms(Graph graph) throws Exception {
+        MstResult result = prim(graph, "binary");
+        long cost = result.cost;
+        assertSpanningTree(graph, result);
+        assertSpanningTree(graph, prim(graph, "4-ary"));
+        assertSpanningTree(graph, prim(graph, "pairing"));
+        assertSpanningTree(graph, prim(graph, "fibonacci"));
+        assertSpanningTree(graph, KruskalMST.kruskal(EdgeList.fromGraph(graph), new MstResult(graph.n)));
+        assertSpanningTree(graph, BoruvkaMST.boruvka(EdgeList.fromGraph(graph), this.pool, new MstResult(graph.n)));
+        assertSpanningTree(graph, FilterKruskalMST.filterKruskal(EdgeList.fromGraph(graph), this.pool, new MstResult(graph.n)));
+        assertSpanningTree(graph, new FilterKruskalMST(EdgeList.fromGraph(graph), 8, new MstResult(graph.n)).run(this.pool));
+        return cost;
+    }
+
+    /**
+     * Checks a result holds n - 1 edges of the graph that connect all
+     * vertices and add up to the result 's cost, the same cost as the last
+     * checked tree of the same graph.
+     */
+    protected void assertSpanningTree(Graph graph, MstResult result) {
+        UnionFind components = new UnionFind(graph.n);
+        long cost = 0;
+        boolean found;
+        assertEquals(graph.n - 1, result.edgeCount);
+        assertTrue(result.isSpanningTree());
+        for (int i = 0; i < result.edgeCount; i++) {
+            found = false;
+            for (int j = graph.offsets[result.tails[i]]; j < graph.offsets[result.tails[i] + 1]; j++) {
+                found |= graph.targets[j] == result.heads[i] && graph.weights[j] == result.weights[i];
+            }
+            assertTrue(found);
+            assertTrue(components.union(result.tails[i], result.heads[i]));
+            cost += result.weights[i];
+        }
+        assertEquals(cost, result.cost);
+        if (graph == this.lastGraph) {
+            assertEquals(this.lastCost, cost);
+        }
+        this.lastGraph = graph;
+        this.lastCost = cost;
+    }
+
+    /**
+     * Test every algorithm finds the expected cost for the bundled inputs.
+     */
+    @Test
+    public void inputsTest() throws Exception {
+        for (int i = 0; i < this.inputs.length; i++) {
+            assertEquals(this.expected[i], allAlgorithms(GraphLoader.load(this.inputs[i])));
+        }
+    }
+
+    /**
+     * Test every algorithm finds a tree of the same cost on random graphs.
+     */
+    @Test
+    public void randomGraphsTest() throws Exception {
+        for (long seed = 0; seed < 50; seed++) {
+            allAlgorithms(randomGraph(seed));
+        }
+    }
+
+    /**
+     * Test Boruvka 's algorithm gives its tree edges in the same order on
+     * every run, whatever the pool, on a graph of many ties spanning several
+     * chunks of roots.
+     */
+    @Test
+    public void boruvkaOrderTest() throws Exception {
+        Random randomGenerator = new Random(5);
+        int n = 5 * BoruvkaMST.CHUNK_SIZE, m = 4 * n;
+        GraphBuilder builder = new GraphBuilder(n, m);
+        for (int i = 0; i < m; i++) {
+            builder.addEdge(randomGenerator.nextInt(n), randomGenerator.nextInt(n), randomGenerator.nextInt(3));
+        }
+        Graph graph = builder.build();
+        MstResult expected = BoruvkaMST.boruvka(EdgeList.fromGraph(graph), new ForkJoinPool(1), new MstResult(n));
+        ForkJoinPool pool = new ForkJoinPool(8);
+        for (int run = 0; run < 3; run++) {
+            MstResult result = BoruvkaMST.boruvka(EdgeList.fromGraph(graph), pool, new MstResult(n));
+            assertEquals(expected.edgeCount, result.edgeCount);
+            assertArrayEquals(expected.tails, result.tails);
+            assertArrayEquals(expected.heads, result.heads);
+            assertArrayEquals(expected.weights, result.weights);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Test every algorithm finds the same minimum spanning forest on graphs
+     * made of several random graphs and isolated vertices.
+     */
+    @Test
+    public void forestTest() throws Exception {
+        Random randomGenerator = new Random(2);
+        GraphBuilder builder;
+        MstResult[] results = new MstResult[4];
+        int parts, n, m, offset, i, j;
+        long[] costs, otherCosts;
+        for (long seed = 0; seed < 20; seed++) {
+            parts = 1 + randomGenerator.nextInt(5);
+            int[] sizes = new int[parts], extras = new int[parts], gaps = new int[parts];
+            for (i = 0, n = 0, m = 0; i < parts; i++) {
+                sizes[i] = 1 + randomGenerator.nextInt(100);
+                extras[i] = randomGenerator.nextInt(3 * sizes[i]);
+                gaps[i] = randomGenerator.nextInt(3); // isolated vertices
+                n += sizes[i] + gaps[i];
+                m += sizes[i] - 1 + extras[i];
+            }
+            builder = new GraphBuilder(n, m);
+            for (i = 0, offset = 0; i < parts; i++) {
+                for (j = 1; j < sizes[i]; j++) {
+                    builder.addEdge(offset + j, offset + randomGenerator.nextInt(j), randomGenerator.nextInt(41) - 20);
+                }
+                for (j = 0; j < extras[i]; j++) {
+                    builder.addEdge(offset + randomGenerator.nextInt(sizes[i]), offset + randomGenerator.nextInt(sizes[i]),
+                            randomGenerator.nextInt(41) - 20);
+                }
+                offset += sizes[i] + gaps[i];
+            }
+            Graph graph = builder.build();
+
+            results[0] = prim(graph, "binary");
+            results[1] = KruskalMST.kruskal(EdgeList.fromGraph(graph), new MstResult(graph.n));
+            results[2] = BoruvkaMST.boruvka(EdgeList.fromGraph(graph), this.pool, new MstResult(graph.n));
+            results[3] = new FilterKruskalMST(EdgeList.fromGraph(graph), 8, new MstResult(graph.n)).run(this.pool);
+            costs = Arrays.copyOf(results[0].componentCosts, results[0].components);
+            Arrays.sort(costs);
+            for (i = 0; i < results.length; i++) {
+                assertEquals(results[0].cost, results[i].cost);
+                assertEquals(graph.n - results[i].components, results[i].edgeCount);
+                assertTrue(results[i].components >= parts);
+                otherCosts = Arrays.copyOf(results[i].componentCosts, results[i].components);
+                Arrays.sort(otherCosts);
+                assertArrayEquals(costs, otherCosts);
+            }
+        }
+    }
+
+    /**
+     * Test an edge of weight Integer.MAX_VALUE joins its vertices to the
+     * tree, whatever the heap and the algorithm, instead of being taken for
+     * a missing edge.
+     */
+    @Test
+    public void maxWeightTest() throws Exception {
+        GraphBuilder builder = new GraphBuilder(3, 2);
+        builder.addEdge(0, 1, Integer.MAX_VALUE);
+        builder.addEdge(1, 2, 5);
+        Graph graph = builder.build();
+        String[] heaps = {"binary", "4-ary", "8-ary", "pairing", "fibonacci"};
+        for (int i = 0; i < heaps.length; i++) {
+            MstResult result = prim(graph, heaps[i]);
+            assertEquals(Integer.MAX_VALUE + 5L, result.cost);
+            assertEquals(1, result.components);
+            assertSpanningTree(graph, result);
+        }
+        for (int i = 0; i < MstSolver.ALGORITHMS.length; i++) {
+            MstResult result = new MstSolver(MstSolver.ALGORITHMS[i], "binary", this.pool).solve(graph);
+            assertEquals(Integer.MAX_VALUE + 5L, result.cost);
+            assertEquals(1, result.components);
+        }
+    }
+
+    /**
+     * Test a solver reused on graphs of growing and shrinking sizes gives the
+     * same trees as fresh runs, and rejects unknown strategies.
+     */
+    @Test
+    public void solverTest() throws Exception {
+        String[] algorithms = MstSolver.ALGORITHMS;
+        MstResult result = new MstResult(0);
+        Graph graph;
+        for (int i = 0; i < algorithms.length; i++) {
+            MstSolver solver = new MstSolver(algorithms[i], "pairing", this.pool);
+            for (long seed = 0; seed < 20; seed++) {
+                graph = randomGraph(seed);
+                assertSpanningTree(graph, prim(graph, "binary"));
+                assertSpanningTree(graph, solver.solve(graph, result));
+                assertSpanningTree(graph, solver.solve(graph));
+            }
+        }
+        try {
+            new MstSolver("dijkstra", "binary", this.pool);
+            fail("Expected exception to be thrown");
+        } catch (Exception ex) {
+            assertEquals("Unknown algorithm dijkstra.", ex.getMessage());
+        }
+        try {
+            new MstSolver("prim", "ternary", this.pool);
+            fail("Expected exception to be thrown");
+        } catch (Exception ex) {
+            assertEquals("Unknown heap ternary.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test a written tree reads back as a graph whose tree is itself.
+     */
+    @Test
+    public void writerTest() throws Exception {
+        File file = File.createTempFile("MstTest", ".txt");
+        file.deleteOnExit();
+        Graph graph = GraphLoader.load("../../in/inputBig.txt");
+        MstWriter.write(prim(graph, "binary"), file.getPath());
+        Graph tree = GraphLoader.load(file.getPath());
+        assertEquals(graph.n, tree.n);
+        assertEquals(graph.n - 1, tree.m);
+        assertEquals(-3612829, prim(tree, "binary").cost);
+    }
+
+    /**
+     * Test the radix sort orders weights of both signs and keeps ties stable.
+     */
+    @Test
+    public void sortByWeightTest() {
+        Random randomGenerator = new Random(1);
+        int m = 10000, i;
+        int[] tails = new int[m], heads = new int[m], weights = new int[m];
+        for (i = 0; i < m; i++) {
+            tails[i] = i;
+            heads[i] = i;
+            weights[i] = i % 3 == 0 ? randomGenerator.nextInt() : randomGenerator.nextInt(10) - 5;
+        }
+        EdgeList edges = new EdgeList(m, m, tails, heads, weights);
+        edges.sortByWeight();
+        for (i = 1; i < m; i++) {
+            assertTrue(edges.weights[i - 1] <= edges.weights[i]);
+            if (edges.weights[i - 1] == edges.weights[i]) {
+                assertTrue(edges.tails[i - 1] < edges.tails[i]);
+            }
+            assertEquals(edges.tails[i], edges.heads[i]);
+        }
+    }
+}
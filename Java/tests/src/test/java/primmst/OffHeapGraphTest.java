@@ -0,0 +1,100 @@
+package primmst;
+
+/**
+ * JUnit test for OffHeapGraph.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+
+public class OffHeapGraphTest {
+
+    /**
+     * Checks an off heap graph holds the same slots as a graph.
+     */
+    protected void assertSameGraph(Graph graph, AdjacencyGraph other) {
+        assertEquals(graph.n, other.vertexCount());
+        assertEquals(graph.m, other.edgeCount());
+        for (int i = 0; i < graph.n; i++) {
+            assertEquals(graph.offsets[i], other.firstEdge(i));
+            assertEquals(graph.offsets[i + 1], other.endEdge(i));
+        }
+        for (int j = 0; j < 2 * graph.m; j++) {
+            assertEquals(graph.targets[j], other.target(j));
+            assertEquals(graph.weights[j], other.weight(j));
+        }
+    }
+
+    /**
+     * Test text and binary files load into direct memory and into a storage
+     * file that opens again, and every engine but boruvka and filter-kruskal
+     * solves them.
+     */
+    @Test
+    public void loadTest() throws Exception {
+        File binary = File.createTempFile("OffHeapGraphTest", ".bin"), storage = File.createTempFile("OffHeapGraphTest", ".pmso");
+        binary.deleteOnExit();
+        storage.deleteOnExit();
+        String text = "../../in/inputBig.txt";
+        Graph graph = GraphLoader.load(text);
+        BinaryGraphFormat.write(graph, binary.getPath());
+
+        assertSameGraph(graph, OffHeapGraph.load(text, null));
+        assertSameGraph(graph, OffHeapGraph.load(binary.getPath(), null));
+        OffHeapGraph stored = OffHeapGraph.load(text, storage.getPath());
+        assertSameGraph(graph, stored);
+        stored.close();
+        assertTrue(OffHeapGraph.isOffHeapGraph(storage.getPath()));
+        assertFalse(OffHeapGraph.isOffHeapGraph(binary.getPath()));
+        stored = new OffHeapGraph(storage.getPath());
+        assertSameGraph(graph, stored);
+
+        for (int i = 0; i < MstSolver.ALGORITHMS.length; i++) {
+            MstSolver solver = new MstSolver(MstSolver.ALGORITHMS[i], "binary", new ForkJoinPool(2));
+            if (MstSolver.ALGORITHMS[i].equals("boruvka") || MstSolver.ALGORITHMS[i].equals("filter-kruskal")) {
+                try {
+                    solver.solve(stored);
+                    fail("Exception was expected to be thrown.");
+                } catch (Exception ex) {
+                    assertEquals("The " + MstSolver.ALGORITHMS[i] + " algorithm does not run on an off heap graph.", ex.getMessage());
+                }
+                continue;
+            }
+            MstResult result = solver.solve(stored);
+            assertEquals(-3612829, result.cost);
+            assertEquals(graph.n - 1, result.edgeCount);
+        }
+        stored.close();
+    }
+
+    /**
+     * Test arrays spanning several segments, mapped from a sparse file.
+     */
+    @Test
+    public void segmentsTest() throws Exception {
+        File file = File.createTempFile("OffHeapGraphTest", ".bin");
+        file.deleteOnExit();
+        long length = OffHeapArray.SEGMENT_SIZE / 8 + 3;
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(8 * length);
+        OffHeapArray array = new OffHeapArray(raf.getChannel(), 0, length, 8, FileChannel.MapMode.READ_WRITE);
+        array.putLong(0, -1);
+        array.putLong(length - 1, Long.MAX_VALUE);
+        array.putLong(OffHeapArray.SEGMENT_SIZE / 8, 42);
+        assertEquals(-1, array.getLong(0));
+        assertEquals(Long.MAX_VALUE, array.getLong(length - 1));
+        assertEquals(42, array.getLong(OffHeapArray.SEGMENT_SIZE / 8));
+        assertEquals(0, array.getLong(OffHeapArray.SEGMENT_SIZE / 8 - 1));
+        raf.close();
+    }
+}
@@ -0,0 +1,76 @@
+package primmst;
+
+/**
+ * JUnit test for the solve statistics. The tests run with the statistics
+ * off, as they are by default.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+public class StatsTest {
+
+    @Before
+    public void setUp() throws Exception {
+        Stats.clear();
+    }
+
+    /**
+     * Test nothing is counted or timed while the statistics are off.
+     */
+    @Test
+    public void disabledTest() throws Exception {
+        assertFalse(Stats.ENABLED);
+        assertEquals(0, Stats.start());
+        assertEquals(0, Stats.lap(Stats.PARSE, 0));
+        String[] algorithms = {"prim", "kruskal", "dense-prim"};
+        for (int i = 0; i < algorithms.length; i++) {
+            MstSolver solver = new MstSolver(algorithms[i], "binary", null);
+            assertEquals(-3612829, solver.solve(GraphLoader.load("../../in/inputBig.txt")).cost);
+        }
+        long[] values = Stats.values();
+        for (int i = 0; i < values.length - 1; i++) {
+            assertEquals(Stats.names()[i], 0, values[i]);
+        }
+        assertTrue(Stats.peakHeapBytes() > 0);
+    }
+
+    /**
+     * Test the JSON and CSV summaries hold every statistic in order.
+     */
+    @Test
+    public void formatTest() throws Exception {
+        String[] names = Stats.names();
+        assertEquals(names.length, Stats.values().length);
+        assertEquals(Stats.PHASES.length, Stats.phaseNanos.length);
+        Stats.inserts = 3;
+        Stats.edgesRelaxed = 5;
+        Stats.phaseNanos[Stats.SOLVE] = 7;
+
+        String json = Stats.toJson();
+        assertTrue(json.startsWith("{\"inserts\": 3, \"extractMins\": 0, "));
+        assertTrue(json.contains(", \"edgesRelaxed\": 5, "));
+        assertTrue(json.contains(", \"solveNanos\": 7, \"peakHeapBytes\": "));
+        assertTrue(json.endsWith("}"));
+
+        String[] lines = Stats.toCsv().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(String.join(",", names), lines[0]);
+        String[] values = lines[1].split(",");
+        assertEquals(names.length, values.length);
+        assertEquals("3", values[0]);
+        assertEquals("5", values[6]);
+        assertEquals("7", values[10]);
+
+        Stats.clear();
+        assertEquals(0, Stats.inserts);
+        assertEquals(0, Stats.edgesRelaxed);
+        assertEquals(0, Stats.phaseNanos[Stats.SOLVE]);
+    }
+}
@@ -0,0 +1,92 @@
+package primmst;
+
+/**
+ * JUnit test for the streaming engine.
+ *
+ * @author      Bogdan Constantinescu <bog_con@yahoo.com>
+ * @since       2013.09.07
+ * @version     1.0
+ * @link        GitHub  https://github.com/z3ppelin/PrimMST
+ * @licence     The MIT License (http://opensource.org/licenses/MIT); see LICENCE.txt
+ */
+
+import static org.junit.Assert.*;
+import org.junit.*;
+import java.io.File;
+import java.util.Arrays;
+
+public class StreamingMSTTest {
+
+    /**
+     * Test the bundled inputs give the expected costs whatever the chunk size.
+     */
+    @Test
+    public void inputsTest() throws Exception {
+        String[] inputs = {"../../in/inputSmall.txt", "../../in/inputMedium.txt", "../../in/inputBig.txt"};
+        long[] expected = {-27534, 37, -3612829};
+        int[] chunkSizes = {1, 7, 1000, StreamingMST.DEFAULT_CHUNK_SIZE};
+        MstResult result = new MstResult(0);
+        for (int i = 0; i < inputs.length; i++) {
+            for (int j = 0; j < chunkSizes.length; j++) {
+                StreamingMST streaming = new StreamingMST(chunkSizes[j]);
+                assertEquals(expected[i], streaming.solve(inputs[i], result).cost);
+                assertTrue(result.isSpanningTree());
+                assertEquals(result.n - 1, result.edgeCount);
+            }
+        }
+    }
+
+    /**
+     * Test generated graphs, some disconnected, give the same forest costs
+     * as the in memory path.
+     */
+    @Test
+    public void generatedGraphsTest() throws Exception {
+        File file = File.createTempFile("StreamingMSTTest", ".txt");
+        file.deleteOnExit();
+        MstSolver solver = new MstSolver();
+        for (long seed = 0; seed < 10; seed++) {
+            new GraphGenerator(seed % 2 == 0 ? "gnm" : "rmat", 2000, 3000 + 1000 * seed, -50, 50, seed, seed % 3 == 0)
+                    .writeText(file.getPath());
+            MstResult expected = solver.solve(GraphLoader.load(file.getPath()));
+            StreamingMST streaming = new StreamingMST(500);
+            MstResult result = streaming.solve(file.getPath(), new MstResult(0));
+            assertEquals(expected.cost, result.cost);
+            assertEquals(expected.components, result.components);
+            assertTrue(streaming.rounds >= 6);
+            long[] costs = Arrays.copyOf(expected.componentCosts, expected.components);
+            long[] otherCosts = Arrays.copyOf(result.componentCosts, result.components);
+            Arrays.sort(costs);
+            Arrays.sort(otherCosts);
+            assertArrayEquals(costs, otherCosts);
+        }
+    }
+
+    /**
+     * Test the errors of the streaming engine.
+     */
+    @Test
+    public void errorTest() throws Exception {
+        try {
+            new StreamingMST(0);
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The chunk size must be positive.", ex.getMessage());
+        }
+        try {
+            new StreamingMST(2).solve(GraphFiles.writeFile("3 3\n1 2 1\n2 3 1\n"), new MstResult(0));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("Could not read edge on line 3", ex.getMessage());
+        }
+        File binary = File.createTempFile("StreamingMSTTest", ".bin");
+        binary.deleteOnExit();
+        BinaryGraphFormat.write(GraphLoader.load(GraphFiles.writeFile("2 1\n1 2 1\n")), binary.getPath());
+        try {
+            new StreamingMST(2).solve(binary.getPath(), new MstResult(0));
+            fail("Exception was expected to be thrown.");
+        } catch (Exception ex) {
+            assertEquals("The streaming engine reads text files only.", ex.getMessage());
+        }
+    }
+}